@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.api;
+
+/**
+ * An optional extension of {@link CorrelationIdGenerator} for generators producing 128 bit identifiers, that allows
+ * to hand over the generated bits without creating their text representation up front.
+ *
+ * @author Jakub Narloch
+ */
+public interface BinaryCorrelationIdGenerator extends CorrelationIdGenerator {
+
+    /**
+     * Generates the request correlation.
+     *
+     * @return the generated request correlation
+     */
+    BinaryRequestCorrelation generateCorrelation();
+}
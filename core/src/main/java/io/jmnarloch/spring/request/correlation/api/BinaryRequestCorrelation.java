@@ -13,41 +13,26 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.jmnarloch.spring.request.correlation.support;
+package io.jmnarloch.spring.request.correlation.api;
 
 /**
- * The request correlation properties.
+ * Holder for the 128 bit request correlation id, that gives access to the raw bits without parsing its text form.
  *
  * @author Jakub Narloch
  */
-public class RequestCorrelationProperties {
+public interface BinaryRequestCorrelation extends RequestCorrelation {
 
     /**
-     * Header name.
-     */
-    private String headerName = RequestCorrelationConsts.HEADER_NAME;
-
-    /**
-     * Creates new instance of {@link RequestCorrelationProperties} class.
-     */
-    public RequestCorrelationProperties() {
-    }
-
-    /**
-     * Retrieves the header names.
+     * Returns the most significant 64 bits of the request correlation id.
      *
-     * @return the header names
+     * @return the most significant bits
      */
-    public String getHeaderName() {
-        return headerName;
-    }
+    long getMostSignificantBits();
 
     /**
-     * Sets the header names.
+     * Returns the least significant 64 bits of the request correlation id.
      *
-     * @param headerName the header names
+     * @return the least significant bits
      */
-    public void setHeaderName(String headerName) {
-        this.headerName = headerName;
-    }
+    long getLeastSignificantBits();
 }
@@ -0,0 +1,30 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.api;
+
+/**
+ * A {@link RequestCorrelationInterceptor} that keeps thread bound state, like the logging MDC. Besides the thread that
+ * received the request, it is also being invoked on every other thread that the correlation is bound to: the
+ * asynchronous executors tasks and the Servlet asynchronous dispatches.
+ *
+ * The calls are always paired and may be nested on the same thread, the implementation is expected to restore the
+ * state from before {@link #afterCorrelationIdSet(String)} in {@link #cleanUp(String)}.
+ *
+ * @author Jakub Narloch
+ */
+public interface ThreadBoundCorrelationInterceptor extends RequestCorrelationInterceptor {
+
+}
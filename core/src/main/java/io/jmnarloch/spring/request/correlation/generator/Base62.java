@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+/**
+ * Encodes the non negative 64 bit values as fixed length base62 text. The alphabet is ordered in the same way as
+ * ASCII, so that the encoded values sort in the same order as the numbers they represent.
+ *
+ * @author Jakub Narloch
+ */
+public final class Base62 {
+
+    /**
+     * The length of the encoded value.
+     */
+    public static final int LENGTH = 11;
+
+    /**
+     * The encoding alphabet.
+     */
+    private static final char[] ALPHABET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz".toCharArray();
+
+    /**
+     * The numeric base.
+     */
+    private static final int BASE = ALPHABET.length;
+
+    /**
+     * Creates new instance of {@link Base62} class.
+     */
+    private Base62() {
+        // private constructor
+    }
+
+    /**
+     * Encodes the value.
+     *
+     * @param value the value to encode
+     * @return the encoded value
+     * @throws IllegalArgumentException if {@code value} is negative
+     */
+    public static String encode(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("The value can not be negative: " + value);
+        }
+
+        final char[] chars = new char[LENGTH];
+        for (int ind = LENGTH - 1; ind >= 0; ind--) {
+            chars[ind] = ALPHABET[(int) (value % BASE)];
+            value /= BASE;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Decodes the value.
+     *
+     * @param text the encoded value
+     * @return the decoded value
+     * @throws IllegalArgumentException if {@code text} is not a valid base62 value
+     */
+    public static long decode(String text) {
+        if (text == null || text.length() != LENGTH) {
+            throw new IllegalArgumentException("The value is not a valid base62 value: " + text);
+        }
+
+        long value = 0;
+        for (int ind = 0; ind < LENGTH; ind++) {
+            final int digit = digitValue(text.charAt(ind));
+            // 62^11 exceeds 2^63, so the largest texts would overflow into the arbitrary, even positive, values
+            if (digit < 0 || value > (Long.MAX_VALUE - digit) / BASE) {
+                throw new IllegalArgumentException("The value is not a valid base62 value: " + text);
+            }
+            value = value * BASE + digit;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the numeric value of the given base62 digit.
+     *
+     * @param c the character
+     * @return the digit value or {@code -1} if the character is not a base62 digit
+     */
+    private static int digitValue(char c) {
+
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'A' && c <= 'Z') {
+            return c - 'A' + 10;
+        } else if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 36;
+        }
+        return -1;
+    }
+}
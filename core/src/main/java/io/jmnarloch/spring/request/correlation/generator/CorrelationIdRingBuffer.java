@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded, lock free, multiple producer multiple consumer ring buffer holding the pre generated identifiers, either
+ * in their text or binary form.
+ *
+ * Every slot holds a sequence number that tells whether the slot is ready to be written or read for the given
+ * position, so that the producers and consumers only ever contend on advancing their own position.
+ *
+ * @param <T> the identifier type
+ * @author Jakub Narloch
+ */
+class CorrelationIdRingBuffer<T> {
+
+    /**
+     * The slots sequence numbers.
+     */
+    private final AtomicLongArray sequences;
+
+    /**
+     * The identifiers, published through the volatile writes of {@link #sequences}.
+     */
+    private final Object[] buffer;
+
+    /**
+     * The index mask.
+     */
+    private final int mask;
+
+    /**
+     * The next position to write.
+     */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * The next position to read.
+     */
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Creates new instance of {@link CorrelationIdRingBuffer} class.
+     *
+     * @param capacity the minimal buffer capacity, rounded up to the power of two
+     * @throws IllegalArgumentException if {@code capacity} is not positive
+     */
+    CorrelationIdRingBuffer(int capacity) {
+        if (capacity <= 0 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Parameter 'capacity' must be within 1 - 2^30 range.");
+        }
+
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity : Integer.highestOneBit(capacity) << 1;
+        this.sequences = new AtomicLongArray(size);
+        this.buffer = new Object[size];
+        this.mask = size - 1;
+        for (int ind = 0; ind < size; ind++) {
+            sequences.set(ind, ind);
+        }
+    }
+
+    /**
+     * Adds the identifier to the buffer.
+     *
+     * @param id the identifier
+     * @return {@code true} if the identifier has been added, {@code false} if the buffer is full
+     */
+    boolean offer(T id) {
+
+        long position = tail.get();
+        while (true) {
+            final int index = (int) position & mask;
+            final long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    buffer[index] = id;
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = tail.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Retrieves and removes the identifier from the buffer.
+     *
+     * @return the identifier or {@code null} if the buffer is empty
+     */
+    @SuppressWarnings("unchecked")
+    T poll() {
+
+        long position = head.get();
+        while (true) {
+            final int index = (int) position & mask;
+            final long diff = sequences.get(index) - (position + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    final T id = (T) buffer[index];
+                    buffer[index] = null;
+                    sequences.set(index, position + mask + 1);
+                    return id;
+                }
+                position = head.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Returns the approximate number of identifiers in the buffer.
+     *
+     * @return the number of identifiers
+     */
+    int size() {
+
+        final long size = tail.get() - head.get();
+        return (int) Math.max(0, Math.min(size, capacity()));
+    }
+
+    /**
+     * Returns the buffer capacity.
+     *
+     * @return the buffer capacity
+     */
+    int capacity() {
+        return mask + 1;
+    }
+}
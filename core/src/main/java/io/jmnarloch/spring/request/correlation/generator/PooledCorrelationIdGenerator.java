@@ -0,0 +1,281 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+import io.jmnarloch.spring.request.correlation.api.BinaryCorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.api.BinaryRequestCorrelation;
+import io.jmnarloch.spring.request.correlation.api.CorrelationIdGenerator;
+
+import java.io.Closeable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link CorrelationIdGenerator} decorator that serves the identifiers out of the pool pre generated by the
+ * background thread, so that the generation cost is moved out of the request thread. Whenever the pool runs dry the
+ * identifier is generated inline by the decorated generator.
+ *
+ * The pool depth and number of inline generations are exposed, so that the pool size and refill interval can be
+ * adjusted to the expected traffic bursts.
+ *
+ * Use {@link #create(CorrelationIdGenerator, int, long)} to keep the {@link BinaryCorrelationIdGenerator} capability
+ * of the decorated generator, in which case the pool holds the binary correlations instead of their text form.
+ *
+ * @author Jakub Narloch
+ */
+public class PooledCorrelationIdGenerator implements CorrelationIdGenerator, Closeable {
+
+    /**
+     * The decorated generator.
+     */
+    private final CorrelationIdGenerator delegate;
+
+    /**
+     * The pre generated identifiers, either the text ids or the binary correlations.
+     */
+    private final CorrelationIdRingBuffer<Object> pool;
+
+    /**
+     * The refill interval in milliseconds.
+     */
+    private final long refillInterval;
+
+    /**
+     * The number of identifiers generated inline, because the pool was empty.
+     */
+    private final AtomicLong fallbackCount = new AtomicLong();
+
+    /**
+     * The refill executor.
+     */
+    private ScheduledExecutorService executor;
+
+    /**
+     * Creates new instance of {@link PooledCorrelationIdGenerator} class.
+     *
+     * @param delegate       the decorated generator
+     * @param capacity       the pool capacity, rounded up to the power of two
+     * @param refillInterval the refill interval in milliseconds
+     * @throws IllegalArgumentException if {@code delegate} is {@code null}
+     *                                  or {@code capacity} is not positive
+     *                                  or {@code refillInterval} is not positive
+     */
+    public PooledCorrelationIdGenerator(CorrelationIdGenerator delegate, int capacity, long refillInterval) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Parameter 'delegate' can not be null.");
+        }
+        if (refillInterval <= 0) {
+            throw new IllegalArgumentException("Parameter 'refillInterval' must be positive.");
+        }
+
+        this.delegate = delegate;
+        this.pool = new CorrelationIdRingBuffer<>(capacity);
+        this.refillInterval = refillInterval;
+    }
+
+    /**
+     * Creates the pooled generator, which is also a {@link BinaryCorrelationIdGenerator} if the decorated generator is.
+     *
+     * @param delegate       the decorated generator
+     * @param capacity       the pool capacity, rounded up to the power of two
+     * @param refillInterval the refill interval in milliseconds
+     * @return the pooled generator
+     * @throws IllegalArgumentException if {@code delegate} is {@code null}
+     *                                  or {@code capacity} is not positive
+     *                                  or {@code refillInterval} is not positive
+     */
+    public static PooledCorrelationIdGenerator create(CorrelationIdGenerator delegate, int capacity,
+                                                      long refillInterval) {
+
+        if (delegate instanceof BinaryCorrelationIdGenerator) {
+            return new PooledBinaryCorrelationIdGenerator((BinaryCorrelationIdGenerator) delegate, capacity,
+                    refillInterval);
+        }
+        return new PooledCorrelationIdGenerator(delegate, capacity, refillInterval);
+    }
+
+    /**
+     * Fills the pool and starts the background refill.
+     */
+    public synchronized void start() {
+
+        if (executor != null) {
+            return;
+        }
+
+        refill();
+        executor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                final Thread thread = new Thread(runnable, "correlation-id-pool-refill");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        executor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                refill();
+            }
+        }, refillInterval, refillInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background refill.
+     */
+    @Override
+    public synchronized void close() {
+
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    /**
+     * Retrieves the pre generated request id, or generates new one if the pool is empty.
+     *
+     * @return the request id
+     */
+    @Override
+    public String generate() {
+
+        final Object id = pool.poll();
+        if (id instanceof String) {
+            return (String) id;
+        } else if (id != null) {
+            return ((BinaryRequestCorrelation) id).getRequestId();
+        }
+
+        fallbackCount.incrementAndGet();
+        return delegate.generate();
+    }
+
+    /**
+     * Returns the number of identifiers available in the pool.
+     *
+     * @return the pool depth
+     */
+    public int getPoolDepth() {
+        return pool.size();
+    }
+
+    /**
+     * Returns the pool capacity.
+     *
+     * @return the pool capacity
+     */
+    public int getPoolCapacity() {
+        return pool.capacity();
+    }
+
+    /**
+     * Returns the number of identifiers generated inline, because the pool was empty.
+     *
+     * @return the fallback count
+     */
+    public long getFallbackCount() {
+        return fallbackCount.get();
+    }
+
+    /**
+     * Fills the pool up to its capacity.
+     */
+    void refill() {
+
+        int missing = pool.capacity() - pool.size();
+        while (missing-- > 0 && pool.offer(generateEntry())) {
+            // keeps on filling the pool
+        }
+    }
+
+    /**
+     * Generates the identifier stored in the pool.
+     *
+     * @return the text id
+     */
+    Object generateEntry() {
+        return delegate.generate();
+    }
+
+    /**
+     * Retrieves the pre generated binary correlation, or generates new one if the pool is empty.
+     *
+     * @param binaryDelegate the decorated binary generator
+     * @return the request correlation
+     */
+    BinaryRequestCorrelation generateCorrelation(BinaryCorrelationIdGenerator binaryDelegate) {
+
+        final Object correlation = pool.poll();
+        if (correlation != null) {
+            return (BinaryRequestCorrelation) correlation;
+        }
+
+        fallbackCount.incrementAndGet();
+        return binaryDelegate.generateCorrelation();
+    }
+
+    /**
+     * The pooled generator of the {@link BinaryCorrelationIdGenerator}, that pools the binary correlations, so
+     * that their text form is created only if used.
+     *
+     * @author Jakub Narloch
+     */
+    private static class PooledBinaryCorrelationIdGenerator extends PooledCorrelationIdGenerator
+            implements BinaryCorrelationIdGenerator {
+
+        /**
+         * The decorated generator.
+         */
+        private final BinaryCorrelationIdGenerator delegate;
+
+        /**
+         * Creates new instance of {@link PooledBinaryCorrelationIdGenerator} class.
+         *
+         * @param delegate       the decorated generator
+         * @param capacity       the pool capacity, rounded up to the power of two
+         * @param refillInterval the refill interval in milliseconds
+         */
+        PooledBinaryCorrelationIdGenerator(BinaryCorrelationIdGenerator delegate, int capacity,
+                                           long refillInterval) {
+            super(delegate, capacity, refillInterval);
+            this.delegate = delegate;
+        }
+
+        /**
+         * Retrieves the pre generated request correlation, or generates new one if the pool is empty.
+         *
+         * @return the request correlation
+         */
+        @Override
+        public BinaryRequestCorrelation generateCorrelation() {
+            return generateCorrelation(delegate);
+        }
+
+        /**
+         * Generates the binary correlation stored in the pool.
+         *
+         * @return the binary correlation
+         */
+        @Override
+        Object generateEntry() {
+            return delegate.generateCorrelation();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+import io.jmnarloch.spring.request.correlation.api.CorrelationIdGenerator;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates compact, 64 bit, Snowflake like identifiers encoded as 11 characters of base62 text. Each identifier is
+ * composed out of 41 bits timestamp, in milliseconds since 2015-01-01T00:00:00Z, 10 bits node id and 12 bits
+ * sequence number.
+ *
+ * The timestamp and sequence number are kept in single {@link AtomicLong} updated without locking. When more than
+ * 4096 identifiers are requested within single millisecond, or the system clock moves backwards, the generator does not
+ * block nor fail, instead it keeps on incrementing the last issued value and borrows the following milliseconds. The
+ * identifiers are therefore always unique and increasing for the given node, while the embedded timestamp may
+ * temporarily run ahead of the system clock until it catches up.
+ *
+ * @author Jakub Narloch
+ */
+public class SnowflakeGenerator implements CorrelationIdGenerator {
+
+    /**
+     * The custom epoch: 2015-01-01T00:00:00Z.
+     */
+    public static final long EPOCH = 1420070400000L;
+
+    /**
+     * The maximum node id.
+     */
+    public static final int MAX_NODE_ID = 1023;
+
+    /**
+     * The number of bits used by the sequence.
+     */
+    private static final int SEQUENCE_BITS = 12;
+
+    /**
+     * The number of bits used by the node id.
+     */
+    private static final int NODE_BITS = 10;
+
+    /**
+     * The node id, already shifted to its position.
+     */
+    private final long node;
+
+    /**
+     * The last issued timestamp combined with the sequence.
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * Creates new instance of {@link SnowflakeGenerator} class with the node id derived from the current process.
+     */
+    public SnowflakeGenerator() {
+        this(deriveNodeId());
+    }
+
+    /**
+     * Creates new instance of {@link SnowflakeGenerator} class.
+     *
+     * @param nodeId the node id
+     * @throws IllegalArgumentException if {@code nodeId} is not within 0 - 1023 range
+     */
+    public SnowflakeGenerator(int nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Parameter 'nodeId' must be within 0 - " + MAX_NODE_ID + " range.");
+        }
+
+        this.node = (long) nodeId << SEQUENCE_BITS;
+    }
+
+    /**
+     * Generates new request id.
+     *
+     * @return the base62 encoded id
+     */
+    @Override
+    public String generate() {
+
+        final long next = nextState();
+        final long id = ((next >>> SEQUENCE_BITS) << (NODE_BITS + SEQUENCE_BITS))
+                | node | (next & ((1L << SEQUENCE_BITS) - 1));
+        return Base62.encode(id);
+    }
+
+    /**
+     * Derives the node id from the host name and process id.
+     *
+     * @return the node id
+     */
+    public static int deriveNodeId() {
+
+        // the runtime name has the form of pid@hostname
+        final String name = ManagementFactory.getRuntimeMXBean().getName();
+        int hash = name.hashCode();
+        hash ^= hash >>> 16;
+        return hash & MAX_NODE_ID;
+    }
+
+    /**
+     * Advances the generator state without locking.
+     *
+     * @return the next timestamp and sequence value
+     */
+    private long nextState() {
+
+        final long now = (System.currentTimeMillis() - EPOCH) << SEQUENCE_BITS;
+        while (true) {
+            final long last = state.get();
+            final long next = now > last ? now : last + 1;
+            if (state.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+import io.jmnarloch.spring.request.correlation.api.BinaryCorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.api.BinaryRequestCorrelation;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates random (version 4) UUIDs using the per thread {@link ThreadLocalRandom} instead of the shared
+ * {@link java.security.SecureRandom} used by {@link java.util.UUID#randomUUID()}. The generation never blocks nor
+ * contends between threads, at the cost of the identifiers not being cryptographically strong.
+ *
+ * @author Jakub Narloch
+ */
+public class ThreadLocalUuidGenerator implements BinaryCorrelationIdGenerator {
+
+    /**
+     * Creates new instance of {@link ThreadLocalUuidGenerator} class.
+     *
+     * Initializes the random number generator eagerly, so that the first request does not pay for it.
+     */
+    public ThreadLocalUuidGenerator() {
+        ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Generates new request id as random UUID.
+     *
+     * @return random uuid
+     */
+    @Override
+    public String generate() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        return UuidCodec.format(mostSigBits(random), leastSigBits(random));
+    }
+
+    /**
+     * Generates new request correlation as random UUID.
+     *
+     * @return random uuid correlation
+     */
+    @Override
+    public BinaryRequestCorrelation generateCorrelation() {
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new UuidRequestCorrelation(mostSigBits(random), leastSigBits(random));
+    }
+
+    /**
+     * Generates the most significant bits, with the version 4 set.
+     *
+     * @param random the random number generator
+     * @return the most significant bits
+     */
+    private static long mostSigBits(ThreadLocalRandom random) {
+        return (random.nextLong() & 0xFFFFFFFFFFFF0FFFL) | 0x0000000000004000L;
+    }
+
+    /**
+     * Generates the least significant bits, with the IETF variant set.
+     *
+     * @param random the random number generator
+     * @return the least significant bits
+     */
+    private static long leastSigBits(ThreadLocalRandom random) {
+        return (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    }
+}
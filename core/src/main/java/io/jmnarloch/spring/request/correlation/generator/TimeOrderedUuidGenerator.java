@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+import io.jmnarloch.spring.request.correlation.api.BinaryCorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.api.BinaryRequestCorrelation;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates time ordered (version 7) UUIDs. The first 48 bits hold the Unix epoch timestamp in milliseconds, followed
+ * by 12 bit counter that keeps the identifiers minted within the same millisecond monotonic. The remaining 62 bits are
+ * random.
+ *
+ * Whenever the counter overflows or the system clock moves backwards the generator keeps on counting from the last
+ * issued value, borrowing from the following milliseconds, so that the produced identifiers are always strictly
+ * increasing within single generator instance.
+ *
+ * @author Jakub Narloch
+ */
+public class TimeOrderedUuidGenerator implements BinaryCorrelationIdGenerator {
+
+    /**
+     * The number of bits used by the counter.
+     */
+    private static final int COUNTER_BITS = 12;
+
+    /**
+     * The UUID version character position.
+     */
+    private static final int VERSION_INDEX = 14;
+
+    /**
+     * The last issued timestamp combined with the counter.
+     */
+    private final AtomicLong state = new AtomicLong();
+
+    /**
+     * Creates new instance of {@link TimeOrderedUuidGenerator} class.
+     */
+    public TimeOrderedUuidGenerator() {
+        ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Generates new request id as time ordered UUID.
+     *
+     * @return time ordered uuid
+     */
+    @Override
+    public String generate() {
+
+        return UuidCodec.format(mostSigBits(), leastSigBits());
+    }
+
+    /**
+     * Generates new request correlation as time ordered UUID.
+     *
+     * @return time ordered uuid correlation
+     */
+    @Override
+    public BinaryRequestCorrelation generateCorrelation() {
+
+        return new UuidRequestCorrelation(mostSigBits(), leastSigBits());
+    }
+
+    /**
+     * Retrieves the Unix epoch timestamp, in milliseconds, from the identifier created by this generator. Only the
+     * leading timestamp digits are being read, so that the method can be used for cheap time range filtering.
+     *
+     * @param correlationId the correlation id
+     * @return the timestamp in milliseconds
+     * @throws IllegalArgumentException if {@code correlationId} is not a time ordered UUID
+     */
+    public static long getTimestamp(String correlationId) {
+
+        if (correlationId == null || correlationId.length() != UuidCodec.UUID_LENGTH
+                || correlationId.charAt(VERSION_INDEX) != '7') {
+            throw new IllegalArgumentException("The correlation id is not a time ordered UUID: " + correlationId);
+        }
+
+        long timestamp = 0;
+        for (int ind = 0; ind < 13; ind++) {
+            if (ind == 8) {
+                continue;
+            }
+            final int digit = UuidCodec.hexValue(correlationId.charAt(ind));
+            if (digit < 0) {
+                throw new IllegalArgumentException("The correlation id is not a time ordered UUID: " + correlationId);
+            }
+            timestamp = (timestamp << 4) | digit;
+        }
+        return timestamp;
+    }
+
+    /**
+     * Generates the most significant bits out of the next timestamp and counter value, with the version 7 set.
+     *
+     * @return the most significant bits
+     */
+    private long mostSigBits() {
+
+        final long next = nextState();
+        return ((next >>> COUNTER_BITS) << 16) | 0x7000L | (next & 0xFFFL);
+    }
+
+    /**
+     * Generates the random least significant bits, with the IETF variant set.
+     *
+     * @return the least significant bits
+     */
+    private static long leastSigBits() {
+        return (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    }
+
+    /**
+     * Advances the generator state without locking.
+     *
+     * @return the next timestamp and counter value
+     */
+    private long nextState() {
+
+        final long now = System.currentTimeMillis() << COUNTER_BITS;
+        while (true) {
+            final long last = state.get();
+            final long next = now > last ? now : last + 1;
+            if (state.compareAndSet(last, next)) {
+                return next;
+            }
+        }
+    }
+}
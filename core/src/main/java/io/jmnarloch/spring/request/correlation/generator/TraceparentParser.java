@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+/**
+ * Extracts the trace id out of the W3C Trace Context {@code traceparent} header:
+ * {@code <version>-<trace-id>-<parent-id>-<trace-flags>}, for instance
+ * {@code 00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01}. The header is validated and the 128 bit trace id
+ * decoded in a single pass over the characters, without creating any intermediate strings.
+ *
+ * @author Jakub Narloch
+ */
+public final class TraceparentParser {
+
+    /**
+     * The traceparent header name.
+     */
+    public static final String HEADER_NAME = "traceparent";
+
+    /**
+     * The length of the version 00 header.
+     */
+    private static final int LENGTH = 55;
+
+    /**
+     * The trace id offset.
+     */
+    private static final int TRACE_ID_OFFSET = 3;
+
+    /**
+     * The parent id offset.
+     */
+    private static final int PARENT_ID_OFFSET = 36;
+
+    /**
+     * The trace flags offset.
+     */
+    private static final int FLAGS_OFFSET = 53;
+
+    /**
+     * Creates new instance of {@link TraceparentParser} class.
+     */
+    private TraceparentParser() {
+        // private constructor
+    }
+
+    /**
+     * Parses the traceparent header. The future versions are accepted as long as they start with the version 00
+     * fields, as required by the specification.
+     *
+     * @param traceparent the header value
+     * @return the correlation holding the trace id or {@code null} if the header is not valid
+     */
+    public static UuidRequestCorrelation parse(String traceparent) {
+
+        if (traceparent == null || traceparent.length() < LENGTH
+                || traceparent.charAt(TRACE_ID_OFFSET - 1) != '-'
+                || traceparent.charAt(PARENT_ID_OFFSET - 1) != '-'
+                || traceparent.charAt(FLAGS_OFFSET - 1) != '-') {
+            return null;
+        }
+
+        final int version = hex(traceparent, 0, 2);
+        if (version < 0 || version == 0xFF
+                || (version == 0 && traceparent.length() != LENGTH)
+                || (traceparent.length() > LENGTH && traceparent.charAt(LENGTH) != '-')
+                || hex(traceparent, FLAGS_OFFSET, 2) < 0) {
+            return null;
+        }
+
+        long mostSigBits = 0;
+        long leastSigBits = 0;
+        for (int ind = 0; ind < 32; ind++) {
+            final int digit = lowerHexValue(traceparent.charAt(TRACE_ID_OFFSET + ind));
+            if (digit < 0) {
+                return null;
+            }
+            if (ind < 16) {
+                mostSigBits = (mostSigBits << 4) | digit;
+            } else {
+                leastSigBits = (leastSigBits << 4) | digit;
+            }
+        }
+
+        long parentId = 0;
+        for (int ind = 0; ind < 16; ind++) {
+            final int digit = lowerHexValue(traceparent.charAt(PARENT_ID_OFFSET + ind));
+            if (digit < 0) {
+                return null;
+            }
+            parentId |= digit;
+        }
+
+        // the all zero ids are invalid
+        if ((mostSigBits == 0 && leastSigBits == 0) || parentId == 0) {
+            return null;
+        }
+        return new UuidRequestCorrelation(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Decodes the lower case hexadecimal number.
+     *
+     * @param value  the text
+     * @param offset the offset
+     * @param digits the number of digits
+     * @return the number or {@code -1} if not valid
+     */
+    private static int hex(String value, int offset, int digits) {
+
+        int result = 0;
+        for (int ind = offset; ind < offset + digits; ind++) {
+            final int digit = lowerHexValue(value.charAt(ind));
+            if (digit < 0) {
+                return -1;
+            }
+            result = (result << 4) | digit;
+        }
+        return result;
+    }
+
+    /**
+     * Returns the value of the lower case hexadecimal digit, the only one allowed by the specification.
+     *
+     * @param c the character
+     * @return the digit value or {@code -1} if the character is not a lower case hexadecimal digit
+     */
+    private static int lowerHexValue(char c) {
+
+        return c >= 'A' && c <= 'F' ? -1 : UuidCodec.hexValue(c);
+    }
+}
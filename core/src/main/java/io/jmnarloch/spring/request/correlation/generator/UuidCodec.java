@@ -0,0 +1,177 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+/**
+ * Encodes the 128 bit identifiers into their canonical UUID text form, without going through
+ * {@link java.util.UUID#toString()}, or into the compact, unpadded base64url form.
+ *
+ * @author Jakub Narloch
+ */
+public final class UuidCodec {
+
+    /**
+     * The length of the canonical UUID representation.
+     */
+    public static final int UUID_LENGTH = 36;
+
+    /**
+     * The length of the unpadded base64url representation.
+     */
+    public static final int BASE64_LENGTH = 22;
+
+    /**
+     * The lower case hexadecimal digits.
+     */
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    /**
+     * The base64url digits.
+     */
+    private static final char[] BASE64_DIGITS =
+            "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".toCharArray();
+
+    /**
+     * The number of bits encoded by single base64 digit.
+     */
+    private static final int BASE64_BITS = 6;
+
+    /**
+     * The offset of the base64 digit spanning both halves of the identifier.
+     */
+    private static final int BASE64_SPANNING_OFFSET = 60;
+
+    /**
+     * Creates new instance of {@link UuidCodec} class.
+     */
+    private UuidCodec() {
+        // private constructor
+    }
+
+    /**
+     * Formats the given bits into the canonical UUID form: {@code xxxxxxxx-xxxx-xxxx-xxxx-xxxxxxxxxxxx}.
+     *
+     * @param mostSigBits  the most significant 64 bits
+     * @param leastSigBits the least significant 64 bits
+     * @return the formatted uuid
+     */
+    public static String format(long mostSigBits, long leastSigBits) {
+
+        final char[] chars = new char[UUID_LENGTH];
+        hex(chars, 0, mostSigBits >>> 32, 8);
+        chars[8] = '-';
+        hex(chars, 9, mostSigBits >>> 16, 4);
+        chars[13] = '-';
+        hex(chars, 14, mostSigBits, 4);
+        chars[18] = '-';
+        hex(chars, 19, leastSigBits >>> 48, 4);
+        chars[23] = '-';
+        hex(chars, 24, leastSigBits, 12);
+        return new String(chars);
+    }
+
+    /**
+     * Formats the given bits into the unpadded base64url form, with the bits encoded in the big endian order. The
+     * last of the 22 digits carries only the two lowest bits.
+     *
+     * @param mostSigBits  the most significant 64 bits
+     * @param leastSigBits the least significant 64 bits
+     * @return the formatted identifier
+     */
+    public static String formatBase64(long mostSigBits, long leastSigBits) {
+
+        final char[] chars = new char[BASE64_LENGTH];
+        for (int ind = 0; ind < BASE64_LENGTH - 1; ind++) {
+            chars[ind] = BASE64_DIGITS[base64Digit(mostSigBits, leastSigBits, ind * BASE64_BITS)];
+        }
+        chars[BASE64_LENGTH - 1] = BASE64_DIGITS[(int) (leastSigBits & 0x3) << 4];
+        return new String(chars);
+    }
+
+    /**
+     * Returns the numeric value of the given base64url digit.
+     *
+     * @param c the character
+     * @return the digit value or {@code -1} if the character is not a base64url digit
+     */
+    static int base64Value(char c) {
+
+        if (c >= 'A' && c <= 'Z') {
+            return c - 'A';
+        } else if (c >= 'a' && c <= 'z') {
+            return c - 'a' + 26;
+        } else if (c >= '0' && c <= '9') {
+            return c - '0' + 52;
+        } else if (c == '-') {
+            return 62;
+        } else if (c == '_') {
+            return 63;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the numeric value of the given hexadecimal digit.
+     *
+     * @param c the character
+     * @return the digit value or {@code -1} if the character is not a hexadecimal digit
+     */
+    static int hexValue(char c) {
+
+        if (c >= '0' && c <= '9') {
+            return c - '0';
+        } else if (c >= 'a' && c <= 'f') {
+            return c - 'a' + 10;
+        } else if (c >= 'A' && c <= 'F') {
+            return c - 'A' + 10;
+        }
+        return -1;
+    }
+
+    /**
+     * Extracts the six bits starting at the given offset, counted from the most significant bit.
+     *
+     * @param mostSigBits  the most significant 64 bits
+     * @param leastSigBits the least significant 64 bits
+     * @param offset       the bit offset
+     * @return the digit value
+     */
+    private static int base64Digit(long mostSigBits, long leastSigBits, int offset) {
+
+        if (offset < BASE64_SPANNING_OFFSET) {
+            return (int) (mostSigBits >>> (58 - offset)) & 0x3F;
+        } else if (offset == BASE64_SPANNING_OFFSET) {
+            return (int) ((mostSigBits & 0xF) << 2 | leastSigBits >>> 62);
+        }
+        return (int) (leastSigBits >>> (122 - offset)) & 0x3F;
+    }
+
+    /**
+     * Writes the lowest {@code digits} nibbles of the value as hexadecimal characters.
+     *
+     * @param chars  the output buffer
+     * @param offset the buffer offset
+     * @param value  the value to write
+     * @param digits the number of digits to write
+     */
+    private static void hex(char[] chars, int offset, long value, int digits) {
+
+        for (int ind = offset + digits - 1; ind >= offset; ind--) {
+            chars[ind] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
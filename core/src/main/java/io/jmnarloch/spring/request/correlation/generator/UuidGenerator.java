@@ -15,7 +15,8 @@
  */
 package io.jmnarloch.spring.request.correlation.generator;
 
-import io.jmnarloch.spring.request.correlation.api.CorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.api.BinaryCorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.api.BinaryRequestCorrelation;
 
 import java.util.UUID;
 
@@ -24,7 +25,7 @@ import java.util.UUID;
  *
  * @author Jakub Narloch
  */
-public class UuidGenerator implements CorrelationIdGenerator {
+public class UuidGenerator implements BinaryCorrelationIdGenerator {
 
     /**
      * Generates new request id as random UUID.
@@ -36,4 +37,16 @@ public class UuidGenerator implements CorrelationIdGenerator {
 
         return UUID.randomUUID().toString();
     }
+
+    /**
+     * Generates new request correlation as random UUID.
+     *
+     * @return random uuid correlation
+     */
+    @Override
+    public BinaryRequestCorrelation generateCorrelation() {
+
+        final UUID uuid = UUID.randomUUID();
+        return new UuidRequestCorrelation(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
 }
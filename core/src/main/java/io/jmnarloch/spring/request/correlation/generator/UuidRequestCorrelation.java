@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+import io.jmnarloch.spring.request.correlation.api.BinaryRequestCorrelation;
+
+/**
+ * The {@link BinaryRequestCorrelation} holding the identifier as two primitive values. The text form is created on
+ * first use and cached afterwards.
+ *
+ * @author Jakub Narloch
+ */
+public final class UuidRequestCorrelation implements BinaryRequestCorrelation {
+
+    /**
+     * The most significant bits.
+     */
+    private final long mostSigBits;
+
+    /**
+     * The least significant bits.
+     */
+    private final long leastSigBits;
+
+    /**
+     * The cached text form. The race on the field is benign, since the created value is always the same.
+     */
+    private String id;
+
+    /**
+     * The cached base64url form. The race on the field is benign, since the created value is always the same.
+     */
+    private String compactId;
+
+    /**
+     * Creates new instance of {@link UuidRequestCorrelation} class.
+     *
+     * @param mostSigBits  the most significant bits
+     * @param leastSigBits the least significant bits
+     */
+    public UuidRequestCorrelation(long mostSigBits, long leastSigBits) {
+        this(mostSigBits, leastSigBits, null);
+    }
+
+    /**
+     * Creates new instance of {@link UuidRequestCorrelation} class.
+     *
+     * @param mostSigBits  the most significant bits
+     * @param leastSigBits the least significant bits
+     * @param id           the text form or {@code null}
+     */
+    private UuidRequestCorrelation(long mostSigBits, long leastSigBits, String id) {
+        this.mostSigBits = mostSigBits;
+        this.leastSigBits = leastSigBits;
+        this.id = id;
+    }
+
+    /**
+     * Creates the correlation from its canonical UUID text form. The given text is kept as the request identifier.
+     *
+     * @param id the correlation id
+     * @return the request correlation or {@code null} if {@code id} is not an UUID
+     */
+    public static UuidRequestCorrelation fromString(String id) {
+
+        if (id == null || id.length() != UuidCodec.UUID_LENGTH
+                || id.charAt(8) != '-' || id.charAt(13) != '-' || id.charAt(18) != '-' || id.charAt(23) != '-') {
+            return null;
+        }
+
+        long mostSigBits = 0;
+        long leastSigBits = 0;
+        for (int ind = 0; ind < UuidCodec.UUID_LENGTH; ind++) {
+            if (ind == 8 || ind == 13 || ind == 18 || ind == 23) {
+                continue;
+            }
+            final int digit = UuidCodec.hexValue(id.charAt(ind));
+            if (digit < 0) {
+                return null;
+            }
+            if (ind < 19) {
+                mostSigBits = (mostSigBits << 4) | digit;
+            } else {
+                leastSigBits = (leastSigBits << 4) | digit;
+            }
+        }
+        return new UuidRequestCorrelation(mostSigBits, leastSigBits, id);
+    }
+
+    /**
+     * Creates the correlation from its unpadded base64url form, as created by {@link UuidCodec#formatBase64}. The
+     * request identifier is normalized to the canonical UUID text form, while the given text is kept only as the
+     * compact form. Only the canonical encoding is accepted, in which the unused lowest bits of the last digit are
+     * zero.
+     *
+     * @param compactId the correlation id in base64url form
+     * @return the request correlation or {@code null} if {@code compactId} is not a base64url encoded identifier
+     */
+    public static UuidRequestCorrelation fromBase64(String compactId) {
+
+        if (compactId == null || compactId.length() != UuidCodec.BASE64_LENGTH) {
+            return null;
+        }
+
+        long mostSigBits = 0;
+        long leastSigBits = 0;
+        for (int ind = 0; ind < UuidCodec.BASE64_LENGTH - 1; ind++) {
+            final int digit = UuidCodec.base64Value(compactId.charAt(ind));
+            if (digit < 0) {
+                return null;
+            }
+            // shifts the 128 bit value by six bits to the left
+            mostSigBits = mostSigBits << 6 | leastSigBits >>> 58;
+            leastSigBits = leastSigBits << 6 | digit;
+        }
+
+        final int last = UuidCodec.base64Value(compactId.charAt(UuidCodec.BASE64_LENGTH - 1));
+        if (last < 0 || (last & 0xF) != 0) {
+            return null;
+        }
+        mostSigBits = mostSigBits << 2 | leastSigBits >>> 62;
+        leastSigBits = leastSigBits << 2 | last >>> 4;
+
+        final UuidRequestCorrelation correlation = new UuidRequestCorrelation(mostSigBits, leastSigBits,
+                UuidCodec.format(mostSigBits, leastSigBits));
+        correlation.compactId = compactId;
+        return correlation;
+    }
+
+    /**
+     * Retrieves the request identifier, formatting it on first use.
+     *
+     * @return the request identifier
+     */
+    @Override
+    public String getRequestId() {
+
+        String result = id;
+        if (result == null) {
+            result = UuidCodec.format(mostSigBits, leastSigBits);
+            id = result;
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the request identifier in the unpadded base64url form, formatting it on first use.
+     *
+     * @return the compact request identifier
+     */
+    public String getCompactRequestId() {
+
+        String result = compactId;
+        if (result == null) {
+            result = UuidCodec.formatBase64(mostSigBits, leastSigBits);
+            compactId = result;
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getMostSignificantBits() {
+        return mostSigBits;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long getLeastSignificantBits() {
+        return leastSigBits;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof UuidRequestCorrelation)) {
+            return false;
+        }
+        final UuidRequestCorrelation that = (UuidRequestCorrelation) o;
+        return mostSigBits == that.mostSigBits && leastSigBits == that.leastSigBits;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int hashCode() {
+        final long hash = mostSigBits ^ leastSigBits;
+        return (int) (hash >> 32) ^ (int) hash;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return getRequestId();
+    }
+}
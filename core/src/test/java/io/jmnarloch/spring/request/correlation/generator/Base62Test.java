@@ -0,0 +1,93 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link Base62} class.
+ *
+ * @author Jakub Narloch
+ */
+public class Base62Test {
+
+    @Test
+    public void shouldEncodeBoundaryValues() {
+
+        // expect
+        assertEquals("00000000000", Base62.encode(0L));
+        assertEquals("AzL8n0Y58m7", Base62.encode(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void shouldDecodeEncodedValue() {
+
+        // given
+        final long value = 1234567890123456789L;
+
+        // when
+        final long result = Base62.decode(Base62.encode(value));
+
+        // then
+        assertEquals(value, result);
+    }
+
+    @Test
+    public void shouldPreserveOrdering() {
+
+        // expect
+        assertTrue(Base62.encode(61L).compareTo(Base62.encode(62L)) < 0);
+        assertTrue(Base62.encode(1L << 40).compareTo(Base62.encode((1L << 40) + 1)) < 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNegativeValue() {
+
+        // when
+        Base62.encode(-1L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidText() {
+
+        // when
+        Base62.decode("0000000000-");
+    }
+
+    @Test
+    public void shouldDecodeMaximumValue() {
+
+        // expect
+        assertEquals(Long.MAX_VALUE, Base62.decode("AzL8n0Y58m7"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectValueAboveMaximum() {
+
+        // when
+        Base62.decode("AzL8n0Y58m8");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectOverflowingText() {
+
+        // when
+        Base62.decode("zzzzzzzzzzz");
+    }
+}
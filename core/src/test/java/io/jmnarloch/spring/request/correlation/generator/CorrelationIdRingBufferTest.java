@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link CorrelationIdRingBuffer} class.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelationIdRingBufferTest {
+
+    @Test
+    public void shouldRoundCapacity() {
+
+        // expect
+        assertEquals(8, new CorrelationIdRingBuffer<String>(5).capacity());
+        assertEquals(8, new CorrelationIdRingBuffer<String>(8).capacity());
+    }
+
+    @Test
+    public void shouldOfferAndPollInOrder() {
+
+        // given
+        final CorrelationIdRingBuffer<String> buffer = new CorrelationIdRingBuffer<>(2);
+
+        // when
+        assertTrue(buffer.offer("1"));
+        assertTrue(buffer.offer("2"));
+        assertFalse(buffer.offer("3"));
+
+        // then
+        assertEquals(2, buffer.size());
+        assertEquals("1", buffer.poll());
+        assertEquals("2", buffer.poll());
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    public void shouldHandOverEachIdExactlyOnce() throws InterruptedException {
+
+        // given
+        final int count = 100000;
+        final int consumers = 4;
+        final CorrelationIdRingBuffer<String> buffer = new CorrelationIdRingBuffer<>(64);
+        final Set<String> received = Collections.newSetFromMap(new ConcurrentHashMap<String, Boolean>());
+        final AtomicInteger remaining = new AtomicInteger(count);
+        final CountDownLatch latch = new CountDownLatch(consumers);
+        final ExecutorService executor = Executors.newFixedThreadPool(consumers);
+
+        // when
+        for (int ind = 0; ind < consumers; ind++) {
+            executor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    while (remaining.get() > 0) {
+                        final String id = buffer.poll();
+                        if (id != null) {
+                            assertTrue(received.add(id));
+                            remaining.decrementAndGet();
+                        }
+                    }
+                    latch.countDown();
+                }
+            });
+        }
+        for (int ind = 0; ind < count; ind++) {
+            while (!buffer.offer(String.valueOf(ind))) {
+                Thread.yield();
+            }
+        }
+
+        // then
+        assertTrue(latch.await(30, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(count, received.size());
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+import io.jmnarloch.spring.request.correlation.api.BinaryCorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.api.BinaryRequestCorrelation;
+import io.jmnarloch.spring.request.correlation.api.CorrelationIdGenerator;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link PooledCorrelationIdGenerator} class.
+ *
+ * @author Jakub Narloch
+ */
+public class PooledCorrelationIdGeneratorTest {
+
+    private final CountingGenerator delegate = new CountingGenerator();
+
+    private PooledCorrelationIdGenerator instance;
+
+    @After
+    public void tearDown() throws Exception {
+
+        if (instance != null) {
+            instance.close();
+        }
+    }
+
+    @Test
+    public void shouldFillPoolOnStart() {
+
+        // given
+        instance = new PooledCorrelationIdGenerator(delegate, 16, 1000);
+
+        // when
+        instance.start();
+
+        // then
+        assertEquals(16, instance.getPoolDepth());
+        assertEquals(16, delegate.count.get());
+    }
+
+    @Test
+    public void shouldServeFromPool() {
+
+        // given
+        instance = new PooledCorrelationIdGenerator(delegate, 4, 1000);
+        instance.start();
+
+        // when
+        final String requestId = instance.generate();
+
+        // then
+        assertEquals("1", requestId);
+        assertEquals(3, instance.getPoolDepth());
+        assertEquals(0, instance.getFallbackCount());
+    }
+
+    @Test
+    public void shouldFallbackWhenPoolIsEmpty() {
+
+        // given
+        instance = new PooledCorrelationIdGenerator(delegate, 1, 1000);
+
+        // when
+        final String requestId = instance.generate();
+
+        // then
+        assertNotNull(requestId);
+        assertEquals(1, instance.getFallbackCount());
+    }
+
+    @Test
+    public void shouldRefillPool() throws InterruptedException {
+
+        // given
+        instance = new PooledCorrelationIdGenerator(delegate, 8, 1);
+        instance.start();
+        for (int ind = 0; ind < 8; ind++) {
+            instance.generate();
+        }
+
+        // when
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (instance.getPoolDepth() < 8 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+
+        // then
+        assertEquals(8, instance.getPoolDepth());
+    }
+
+    @Test
+    public void shouldCreateTextGenerator() {
+
+        // when
+        instance = PooledCorrelationIdGenerator.create(delegate, 4, 1000);
+
+        // then
+        assertFalse(instance instanceof BinaryCorrelationIdGenerator);
+    }
+
+    @Test
+    public void shouldServeBinaryCorrelationFromPool() {
+
+        // given
+        final BinaryRequestCorrelation correlation = new UuidRequestCorrelation(1L, 2L);
+        instance = PooledCorrelationIdGenerator.create(new FixedBinaryGenerator(correlation), 4, 1000);
+        instance.start();
+
+        // when
+        final BinaryRequestCorrelation result = ((BinaryCorrelationIdGenerator) instance).generateCorrelation();
+
+        // then
+        assertTrue(instance instanceof BinaryCorrelationIdGenerator);
+        assertSame(correlation, result);
+        assertEquals(3, instance.getPoolDepth());
+        assertEquals(0, instance.getFallbackCount());
+    }
+
+    @Test
+    public void shouldServeBinaryCorrelationTextFromPool() {
+
+        // given
+        final BinaryRequestCorrelation correlation = new UuidRequestCorrelation(1L, 2L);
+        instance = PooledCorrelationIdGenerator.create(new FixedBinaryGenerator(correlation), 4, 1000);
+        instance.start();
+
+        // when
+        final String requestId = instance.generate();
+
+        // then
+        assertEquals(correlation.getRequestId(), requestId);
+        assertEquals(3, instance.getPoolDepth());
+    }
+
+    @Test
+    public void shouldFallbackToBinaryDelegateWhenPoolIsEmpty() {
+
+        // given
+        final BinaryRequestCorrelation correlation = new UuidRequestCorrelation(1L, 2L);
+        instance = PooledCorrelationIdGenerator.create(new FixedBinaryGenerator(correlation), 1, 1000);
+
+        // when
+        final BinaryRequestCorrelation result = ((BinaryCorrelationIdGenerator) instance).generateCorrelation();
+
+        // then
+        assertSame(correlation, result);
+        assertEquals(1, instance.getFallbackCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNullDelegate() {
+
+        // when
+        new PooledCorrelationIdGenerator(null, 8, 10);
+    }
+
+    private static class CountingGenerator implements CorrelationIdGenerator {
+
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public String generate() {
+            return String.valueOf(count.incrementAndGet());
+        }
+    }
+
+    private static class FixedBinaryGenerator implements BinaryCorrelationIdGenerator {
+
+        private final BinaryRequestCorrelation correlation;
+
+        private FixedBinaryGenerator(BinaryRequestCorrelation correlation) {
+            this.correlation = correlation;
+        }
+
+        @Override
+        public String generate() {
+            return correlation.getRequestId();
+        }
+
+        @Override
+        public BinaryRequestCorrelation generateCorrelation() {
+            return correlation;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link SnowflakeGenerator} class.
+ *
+ * @author Jakub Narloch
+ */
+public class SnowflakeGeneratorTest {
+
+    @Test
+    public void shouldGenerateCompactId() {
+
+        // when
+        final String requestId = new SnowflakeGenerator(1).generate();
+
+        // then
+        assertEquals(Base62.LENGTH, requestId.length());
+    }
+
+    @Test
+    public void shouldEncodeNodeId() {
+
+        // when
+        final long id = Base62.decode(new SnowflakeGenerator(513).generate());
+
+        // then
+        assertEquals(513, (id >>> 12) & SnowflakeGenerator.MAX_NODE_ID);
+    }
+
+    @Test
+    public void shouldGenerateUniqueIncreasingIds() {
+
+        // given
+        final SnowflakeGenerator generator = new SnowflakeGenerator();
+        final Set<String> ids = new HashSet<>();
+        String previous = generator.generate();
+
+        for (int ind = 0; ind < 10000; ind++) {
+
+            // when
+            final String next = generator.generate();
+
+            // then
+            assertTrue(previous.compareTo(next) < 0);
+            ids.add(next);
+            previous = next;
+        }
+        assertEquals(10000, ids.size());
+    }
+
+    @Test
+    public void shouldDeriveNodeId() {
+
+        // when
+        final int nodeId = SnowflakeGenerator.deriveNodeId();
+
+        // then
+        assertTrue(nodeId >= 0 && nodeId <= SnowflakeGenerator.MAX_NODE_ID);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidNodeId() {
+
+        // when
+        new SnowflakeGenerator(SnowflakeGenerator.MAX_NODE_ID + 1);
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+import io.jmnarloch.spring.request.correlation.api.BinaryRequestCorrelation;
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+
+/**
+ * Tests the {@link ThreadLocalUuidGenerator} class.
+ *
+ * @author Jakub Narloch
+ */
+public class ThreadLocalUuidGeneratorTest {
+
+    @Test
+    public void shouldGenerateId() {
+
+        // when
+        final String requestId = new ThreadLocalUuidGenerator().generate();
+
+        // then
+        assertNotNull(requestId);
+    }
+
+    @Test
+    public void shouldGenerateRandomUuid() {
+
+        // when
+        final String requestId = new ThreadLocalUuidGenerator().generate();
+
+        // then
+        final UUID uuid = UUID.fromString(requestId);
+        assertEquals(4, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertEquals(uuid.toString(), requestId);
+    }
+
+    @Test
+    public void shouldGenerateCorrelation() {
+
+        // when
+        final BinaryRequestCorrelation correlation = new ThreadLocalUuidGenerator().generateCorrelation();
+
+        // then
+        final UUID uuid = UUID.fromString(correlation.getRequestId());
+        assertEquals(4, uuid.version());
+        assertEquals(uuid.getMostSignificantBits(), correlation.getMostSignificantBits());
+        assertEquals(uuid.getLeastSignificantBits(), correlation.getLeastSignificantBits());
+    }
+
+    @Test
+    public void shouldGenerateUniqueIds() {
+
+        // given
+        final ThreadLocalUuidGenerator generator = new ThreadLocalUuidGenerator();
+        final Set<String> ids = new HashSet<>();
+
+        // when
+        for (int ind = 0; ind < 10000; ind++) {
+            ids.add(generator.generate());
+        }
+
+        // then
+        assertEquals(10000, ids.size());
+    }
+}
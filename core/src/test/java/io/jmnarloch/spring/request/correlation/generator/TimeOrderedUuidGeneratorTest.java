@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link TimeOrderedUuidGenerator} class.
+ *
+ * @author Jakub Narloch
+ */
+public class TimeOrderedUuidGeneratorTest {
+
+    private final TimeOrderedUuidGenerator instance = new TimeOrderedUuidGenerator();
+
+    @Test
+    public void shouldGenerateId() {
+
+        // when
+        final String requestId = instance.generate();
+
+        // then
+        assertNotNull(requestId);
+        final UUID uuid = UUID.fromString(requestId);
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    public void shouldGenerateMonotonicIds() {
+
+        // given
+        String previous = instance.generate();
+
+        for (int ind = 0; ind < 10000; ind++) {
+
+            // when
+            final String next = instance.generate();
+
+            // then
+            assertTrue(previous.substring(0, 18).compareTo(next.substring(0, 18)) < 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    public void shouldRetrieveTimestamp() {
+
+        // given
+        final long before = System.currentTimeMillis();
+
+        // when
+        final long timestamp = TimeOrderedUuidGenerator.getTimestamp(instance.generate());
+
+        // then
+        assertTrue(timestamp >= before);
+        assertTrue(timestamp <= System.currentTimeMillis() + 1000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectRandomUuid() {
+
+        // when
+        TimeOrderedUuidGenerator.getTimestamp(UUID.randomUUID().toString());
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the {@link TraceparentParser} class.
+ *
+ * @author Jakub Narloch
+ */
+public class TraceparentParserTest {
+
+    @Test
+    public void shouldParseTraceId() {
+
+        // when
+        final UuidRequestCorrelation result =
+                TraceparentParser.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        // then
+        assertEquals(0x4bf92f3577b34da6L, result.getMostSignificantBits());
+        assertEquals(0xa3ce929d0e0e4736L, result.getLeastSignificantBits());
+        assertEquals("4bf92f35-77b3-4da6-a3ce-929d0e0e4736", result.getRequestId());
+    }
+
+    @Test
+    public void shouldParseFutureVersion() {
+
+        // when
+        final UuidRequestCorrelation result =
+                TraceparentParser.parse("cc-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-what-the-future-holds");
+
+        // then
+        assertEquals(0x4bf92f3577b34da6L, result.getMostSignificantBits());
+    }
+
+    @Test
+    public void shouldRejectInvalidHeaders() {
+
+        // expect
+        assertNull(TraceparentParser.parse(null));
+        assertNull(TraceparentParser.parse(""));
+        assertNull(TraceparentParser.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7"));
+        assertNull(TraceparentParser.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01-"));
+        assertNull(TraceparentParser.parse("ff-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"));
+        assertNull(TraceparentParser.parse("00-4BF92F3577B34DA6A3CE929D0E0E4736-00f067aa0ba902b7-01"));
+        assertNull(TraceparentParser.parse("00-4bf92f3577b34da6a3ce929d0e0e473g-00f067aa0ba902b7-01"));
+        assertNull(TraceparentParser.parse("00-00000000000000000000000000000000-00f067aa0ba902b7-01"));
+        assertNull(TraceparentParser.parse("00-4bf92f3577b34da6a3ce929d0e0e4736-0000000000000000-01"));
+        assertNull(TraceparentParser.parse("00_4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"));
+        assertNull(TraceparentParser.parse("cc-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01.x"));
+    }
+}
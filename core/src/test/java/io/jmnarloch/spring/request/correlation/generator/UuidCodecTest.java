@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link UuidCodec} class.
+ *
+ * @author Jakub Narloch
+ */
+public class UuidCodecTest {
+
+    @Test
+    public void shouldFormatUuid() {
+
+        // given
+        final UUID uuid = UUID.randomUUID();
+
+        // when
+        final String result = UuidCodec.format(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+
+        // then
+        assertEquals(uuid.toString(), result);
+    }
+
+    @Test
+    public void shouldFormatBoundaryValues() {
+
+        // expect
+        assertEquals("00000000-0000-0000-0000-000000000000", UuidCodec.format(0L, 0L));
+        assertEquals("ffffffff-ffff-ffff-ffff-ffffffffffff", UuidCodec.format(-1L, -1L));
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the {@link UuidRequestCorrelation} class.
+ *
+ * @author Jakub Narloch
+ */
+public class UuidRequestCorrelationTest {
+
+    @Test
+    public void shouldFormatRequestIdLazily() {
+
+        // given
+        final UUID uuid = UUID.randomUUID();
+        final UuidRequestCorrelation correlation =
+                new UuidRequestCorrelation(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+
+        // when
+        final String requestId = correlation.getRequestId();
+
+        // then
+        assertEquals(uuid.toString(), requestId);
+        assertSame(requestId, correlation.getRequestId());
+    }
+
+    @Test
+    public void shouldParseUuid() {
+
+        // given
+        final UUID uuid = UUID.randomUUID();
+        final String requestId = uuid.toString().toUpperCase();
+
+        // when
+        final UuidRequestCorrelation correlation = UuidRequestCorrelation.fromString(requestId);
+
+        // then
+        assertEquals(uuid.getMostSignificantBits(), correlation.getMostSignificantBits());
+        assertEquals(uuid.getLeastSignificantBits(), correlation.getLeastSignificantBits());
+        assertSame(requestId, correlation.getRequestId());
+    }
+
+    @Test
+    public void shouldNotParseInvalidUuid() {
+
+        // expect
+        assertNull(UuidRequestCorrelation.fromString(null));
+        assertNull(UuidRequestCorrelation.fromString("request-id"));
+        assertNull(UuidRequestCorrelation.fromString("0000000g-0000-0000-0000-000000000000"));
+        assertNull(UuidRequestCorrelation.fromString("00000000000000000000000000000000-000"));
+    }
+
+    @Test
+    public void shouldFormatCompactRequestId() {
+
+        // given
+        final UuidRequestCorrelation correlation =
+                UuidRequestCorrelation.fromString("4bf92f35-77b3-4da6-a3ce-929d0e0e4736");
+
+        // when
+        final String compactId = correlation.getCompactRequestId();
+
+        // then
+        assertEquals("S_kvNXezTaajzpKdDg5HNg", compactId);
+        assertSame(compactId, correlation.getCompactRequestId());
+        assertEquals("_____________________w", new UuidRequestCorrelation(-1L, -1L).getCompactRequestId());
+        assertEquals("AAAAAAAAAAEAAAAAAAAAAg", new UuidRequestCorrelation(1L, 2L).getCompactRequestId());
+    }
+
+    @Test
+    public void shouldParseBase64AsCanonicalUuid() {
+
+        // given
+        final String compactId = "S_kvNXezTaajzpKdDg5HNg";
+
+        // when
+        final UuidRequestCorrelation correlation = UuidRequestCorrelation.fromBase64(compactId);
+
+        // then
+        assertEquals("4bf92f35-77b3-4da6-a3ce-929d0e0e4736", correlation.getRequestId());
+        assertSame(compactId, correlation.getCompactRequestId());
+    }
+
+    @Test
+    public void shouldRoundTripBase64() {
+
+        for (int ind = 0; ind < 1000; ind++) {
+
+            // given
+            final UUID uuid = UUID.randomUUID();
+            final UuidRequestCorrelation correlation =
+                    new UuidRequestCorrelation(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+
+            // when
+            final UuidRequestCorrelation result = UuidRequestCorrelation.fromBase64(correlation.getCompactRequestId());
+
+            // then
+            assertEquals(uuid.toString(), result.getRequestId());
+        }
+    }
+
+    @Test
+    public void shouldNotParseInvalidBase64() {
+
+        // expect
+        assertNull(UuidRequestCorrelation.fromBase64(null));
+        assertNull(UuidRequestCorrelation.fromBase64("S_kvNXezTaajzpKdDg5HN"));
+        assertNull(UuidRequestCorrelation.fromBase64("S_kvNXezTaajzpKdDg5H+g"));
+        assertNull(UuidRequestCorrelation.fromBase64("S_kvNXezTaajzpKdDg5HNh"));
+    }
+
+    @Test
+    public void shouldCompareBits() {
+
+        // given
+        final UuidRequestCorrelation correlation = new UuidRequestCorrelation(1L, 2L);
+
+        // expect
+        assertEquals(correlation, UuidRequestCorrelation.fromString("00000000-0000-0001-0000-000000000002"));
+        assertEquals(correlation.hashCode(), new UuidRequestCorrelation(1L, 2L).hashCode());
+        assertNotEquals(correlation, new UuidRequestCorrelation(2L, 1L));
+    }
+}
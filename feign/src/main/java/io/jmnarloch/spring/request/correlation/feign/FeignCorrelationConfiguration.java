@@ -17,7 +17,9 @@ package io.jmnarloch.spring.request.correlation.feign;
 
 import feign.Feign;
 import feign.RequestInterceptor;
+import io.jmnarloch.spring.request.correlation.metrics.RequestCorrelationMetrics;
 import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
@@ -33,8 +35,11 @@ import org.springframework.context.annotation.Configuration;
 @ConditionalOnProperty(value = "request.correlation.client.feign.enabled", matchIfMissing = true)
 public class FeignCorrelationConfiguration {
 
+    @Autowired(required = false)
+    private RequestCorrelationMetrics metrics;
+
     @Bean
     public RequestInterceptor feignCorrelationInterceptor(RequestCorrelationProperties properties) {
-        return new FeignCorrelationInterceptor(properties);
+        return new FeignCorrelationInterceptor(properties, metrics);
     }
 }
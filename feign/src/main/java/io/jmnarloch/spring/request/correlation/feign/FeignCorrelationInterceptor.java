@@ -17,7 +17,7 @@ package io.jmnarloch.spring.request.correlation.feign;
 
 import feign.RequestInterceptor;
 import feign.RequestTemplate;
-import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConsts;
+import io.jmnarloch.spring.request.correlation.metrics.RequestCorrelationMetrics;
 import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
 import io.jmnarloch.spring.request.correlation.support.RequestCorrelationUtils;
 import org.springframework.util.Assert;
@@ -34,6 +34,11 @@ public class FeignCorrelationInterceptor implements RequestInterceptor {
      */
     private final RequestCorrelationProperties properties;
 
+    /**
+     * The optional metrics, {@code null} if disabled.
+     */
+    private final RequestCorrelationMetrics metrics;
+
     /**
      * Creates new instance of {@link FeignCorrelationInterceptor}.
      *
@@ -42,9 +47,21 @@ public class FeignCorrelationInterceptor implements RequestInterceptor {
      * @throws IllegalArgumentException if {@code properties} is {@code null}
      */
     public FeignCorrelationInterceptor(RequestCorrelationProperties properties) {
+        this(properties, null);
+    }
+
+    /**
+     * Creates new instance of {@link FeignCorrelationInterceptor}.
+     *
+     * @param properties the correlation properties
+     * @param metrics    the metrics or {@code null} if disabled
+     * @throws IllegalArgumentException if {@code properties} is {@code null}
+     */
+    public FeignCorrelationInterceptor(RequestCorrelationProperties properties, RequestCorrelationMetrics metrics) {
         Assert.notNull(properties, "Parameter 'properties' can not be null");
 
         this.properties = properties;
+        this.metrics = metrics;
     }
 
     /**
@@ -53,9 +70,12 @@ public class FeignCorrelationInterceptor implements RequestInterceptor {
     @Override
     public void apply(RequestTemplate template) {
 
-        final String correlationId = RequestCorrelationUtils.getCurrentCorrelationId();
+        final String correlationId = RequestCorrelationUtils.getCurrentCorrelationId(properties.getHeaderEncoding());
         if(correlationId != null) {
-            template.header(RequestCorrelationConsts.HEADER_NAME, correlationId);
+            template.header(properties.getHeaderName(), correlationId);
+        }
+        if (metrics != null) {
+            metrics.recordFeignRequest(correlationId != null);
         }
     }
 }
@@ -17,7 +17,9 @@ package io.jmnarloch.spring.request.correlation.feign;
 
 import feign.RequestTemplate;
 import io.jmnarloch.spring.request.correlation.CorrelationTestUtils;
+import io.jmnarloch.spring.request.correlation.generator.UuidRequestCorrelation;
 import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConsts;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationContextHolder;
 import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
 import org.junit.After;
 import org.junit.Before;
@@ -84,4 +86,61 @@ public class FeignCorrelationInterceptorTest {
         assertFalse(request.headers().containsKey(RequestCorrelationConsts.HEADER_NAME));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldSetConfiguredHeader() {
+
+        // given
+        final RequestCorrelationProperties properties = new RequestCorrelationProperties();
+        properties.setHeaderName("X-Correlation-Id");
+        instance = new FeignCorrelationInterceptor(properties);
+        CorrelationTestUtils.setRequestId("id");
+        final RequestTemplate request = new RequestTemplate();
+
+        // when
+        instance.apply(request);
+
+        // then
+        assertEquals("id", request.headers().get("X-Correlation-Id").iterator().next());
+        assertFalse(request.headers().containsKey(RequestCorrelationConsts.HEADER_NAME));
+    }
+
+    @Test
+    public void shouldSetBase64EncodedHeader() {
+
+        // given
+        final RequestCorrelationProperties properties = new RequestCorrelationProperties();
+        properties.setHeaderEncoding(RequestCorrelationProperties.HeaderEncoding.BASE64URL);
+        instance = new FeignCorrelationInterceptor(properties);
+        RequestCorrelationContextHolder.setRequestCorrelation(
+                UuidRequestCorrelation.fromString("4bf92f35-77b3-4da6-a3ce-929d0e0e4736"));
+        final RequestTemplate request = new RequestTemplate();
+
+        try {
+            // when
+            instance.apply(request);
+        } finally {
+            RequestCorrelationContextHolder.resetRequestCorrelation();
+        }
+
+        // then
+        assertEquals("S_kvNXezTaajzpKdDg5HNg",
+                request.headers().get(RequestCorrelationConsts.HEADER_NAME).iterator().next());
+    }
+
+    @Test
+    public void shouldPropagateNonBinaryIdAsIs() {
+
+        // given
+        final RequestCorrelationProperties properties = new RequestCorrelationProperties();
+        properties.setHeaderEncoding(RequestCorrelationProperties.HeaderEncoding.BASE64URL);
+        instance = new FeignCorrelationInterceptor(properties);
+        CorrelationTestUtils.setRequestId("id");
+        final RequestTemplate request = new RequestTemplate();
+
+        // when
+        instance.apply(request);
+
+        // then
+        assertEquals("id", request.headers().get(RequestCorrelationConsts.HEADER_NAME).iterator().next());
+    }
+}
@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.reactive;
+
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationUtils;
+import org.springframework.util.Assert;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link org.springframework.web.reactive.function.client.WebClient} filter function, that propagates the request
+ * correlation id from the Reactor {@link reactor.util.context.Context} to the outgoing request, through the
+ * configured header, 'X-Request-Id' by default.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelatingExchangeFilterFunction implements ExchangeFilterFunction {
+
+    /**
+     * The correlation properties.
+     */
+    private final RequestCorrelationProperties properties;
+
+    /**
+     * Creates new instance of {@link CorrelatingExchangeFilterFunction}.
+     *
+     * @param properties the correlation properties
+     * @throws IllegalArgumentException if {@code properties} is {@code null}
+     */
+    public CorrelatingExchangeFilterFunction(RequestCorrelationProperties properties) {
+        Assert.notNull(properties, "Parameter 'properties' can not be null");
+
+        this.properties = properties;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+
+        final String headerName = properties.getHeaderName();
+        if (request.headers().containsKey(headerName)) {
+            // keeps the explicitly set header
+            return next.exchange(request);
+        }
+
+        return ReactiveRequestCorrelationUtils.currentCorrelation()
+                .map(correlation -> ClientRequest.from(request)
+                        .header(headerName, RequestCorrelationUtils.getCorrelationId(correlation,
+                                properties.getHeaderEncoding()))
+                        .build())
+                .defaultIfEmpty(request)
+                .flatMap(next::exchange);
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.reactive;
+
+import io.jmnarloch.spring.request.correlation.metrics.MetricsCorrelationConfiguration;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.*;
+
+/**
+ * Enables automatic request correlation of the reactive, WebFlux, applications by assigning per each request unique
+ * identifier that afterwards is being propagated through 'X-Request-Id' header.
+ *
+ * The correlation is stored in the Reactor {@link reactor.util.context.Context} of the request processing and
+ * propagated through any {@link org.springframework.web.reactive.function.client.WebClient} created out of the Spring
+ * Boot configured {@link org.springframework.web.reactive.function.client.WebClient.Builder}.
+ *
+ * Unlike {@link io.jmnarloch.spring.request.correlation.api.EnableRequestCorrelation} it does not enable the executors
+ * decoration and the MDC, both of which read the thread bound correlation that is never set on the event loop. Only
+ * the metrics are enabled, if configured.
+ *
+ * @author Jakub Narloch
+ * @see ReactiveRequestCorrelationConfiguration
+ * @see ReactiveRequestCorrelationUtils
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+@Import({
+        RequestCorrelationConfiguration.class,
+        MetricsCorrelationConfiguration.class,
+        ReactiveRequestCorrelationConfiguration.class
+})
+public @interface EnableReactiveRequestCorrelation {
+
+}
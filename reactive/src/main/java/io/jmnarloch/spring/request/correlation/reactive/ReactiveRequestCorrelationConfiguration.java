@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.reactive;
+
+import io.jmnarloch.spring.request.correlation.api.CorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelationInterceptor;
+import io.jmnarloch.spring.request.correlation.metrics.RequestCorrelationMetrics;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.WebFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configures the reactive request correlation filter and the {@link WebClient} propagation, in the reactive web
+ * applications only.
+ *
+ * @author Jakub Narloch
+ * @see EnableReactiveRequestCorrelation
+ */
+@Configuration
+@ConditionalOnClass(WebFilter.class)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRequestCorrelationConfiguration {
+
+    @Autowired(required = false)
+    private List<RequestCorrelationInterceptor> interceptors = new ArrayList<>();
+
+    @Autowired(required = false)
+    private RequestCorrelationMetrics metrics;
+
+    @Bean
+    public ReactiveRequestCorrelationFilter reactiveRequestCorrelationFilter(CorrelationIdGenerator generator,
+                                                                             RequestCorrelationProperties properties) {
+
+        return new ReactiveRequestCorrelationFilter(generator, interceptors, properties, metrics);
+    }
+
+    /**
+     * Configures the {@link WebClient} propagation.
+     */
+    @Configuration
+    @ConditionalOnClass(WebClient.class)
+    @ConditionalOnProperty(value = "request.correlation.client.webclient.enabled", matchIfMissing = true)
+    public static class WebClientCorrelationConfiguration {
+
+        @Bean
+        public CorrelatingExchangeFilterFunction correlatingExchangeFilterFunction(RequestCorrelationProperties properties) {
+
+            return new CorrelatingExchangeFilterFunction(properties);
+        }
+
+        @Bean
+        public WebClientCustomizer correlatingWebClientCustomizer(CorrelatingExchangeFilterFunction filterFunction) {
+
+            return builder -> builder.filter(filterFunction);
+        }
+    }
+}
@@ -0,0 +1,235 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.reactive;
+
+import io.jmnarloch.spring.request.correlation.api.BinaryCorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.api.CorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelationInterceptor;
+import io.jmnarloch.spring.request.correlation.api.ThreadBoundCorrelationInterceptor;
+import io.jmnarloch.spring.request.correlation.filter.DefaultRequestCorrelation;
+import io.jmnarloch.spring.request.correlation.filter.InboundCorrelationResolver;
+import io.jmnarloch.spring.request.correlation.metrics.RequestCorrelationMetrics;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConsts;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.Assert;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The reactive entry point for the request correlation. This filter resolves the correlation out of the inbound
+ * headers, or generates new one, and exposes it both as the exchange attribute and through the Reactor
+ * {@link reactor.util.context.Context} of the request processing.
+ *
+ * Unlike the servlet {@link io.jmnarloch.spring.request.correlation.filter.RequestCorrelationFilter} the request
+ * itself is not wrapped and nothing is bound to the thread, since the request may be processed by any of the event
+ * loop threads. Use the {@link ReactiveRequestCorrelationUtils} to retrieve the correlation.
+ *
+ * @author Jakub Narloch
+ */
+public class ReactiveRequestCorrelationFilter implements WebFilter, Ordered {
+
+    /**
+     * Logger instance used by this class.
+     */
+    private final Logger logger = LoggerFactory.getLogger(ReactiveRequestCorrelationFilter.class);
+
+    /**
+     * The request generator used for generating new identifiers.
+     */
+    private final CorrelationIdGenerator correlationIdGenerator;
+
+    /**
+     * The interceptors, other than the {@link ThreadBoundCorrelationInterceptor}s.
+     */
+    private final List<RequestCorrelationInterceptor> interceptors;
+
+    /**
+     * The request correlation properties.
+     */
+    private final RequestCorrelationProperties properties;
+
+    /**
+     * The optional metrics, {@code null} if disabled.
+     */
+    private final RequestCorrelationMetrics metrics;
+
+    /**
+     * The inbound correlation resolver.
+     */
+    private final InboundCorrelationResolver resolver;
+
+    /**
+     * Creates new instance of {@link ReactiveRequestCorrelationFilter} class.
+     *
+     * @param correlationIdGenerator the request id generator
+     * @param interceptors           the correlation interceptors
+     * @param properties             the request properties
+     * @param metrics                the metrics or {@code null} if disabled
+     * @throws IllegalArgumentException if {@code correlationIdGenerator} is {@code null}
+     *                                  or {@code interceptors} is {@code null}
+     *                                  or {@code properties} is {@code null}
+     */
+    public ReactiveRequestCorrelationFilter(CorrelationIdGenerator correlationIdGenerator,
+                                            List<RequestCorrelationInterceptor> interceptors,
+                                            RequestCorrelationProperties properties,
+                                            RequestCorrelationMetrics metrics) {
+        Assert.notNull(correlationIdGenerator, "Parameter 'correlationIdGenerator' can not be null");
+        Assert.notNull(interceptors, "Parameter 'interceptors' can not be null");
+        Assert.notNull(properties, "Parameter 'properties' can not be null");
+
+        this.correlationIdGenerator = correlationIdGenerator;
+        this.interceptors = new ArrayList<>();
+        for (RequestCorrelationInterceptor interceptor : interceptors) {
+            // the thread bound interceptors have no meaning on the event loop
+            if (!(interceptor instanceof ThreadBoundCorrelationInterceptor)) {
+                this.interceptors.add(interceptor);
+            }
+        }
+        this.properties = properties;
+        this.metrics = metrics;
+        this.resolver = new InboundCorrelationResolver(properties, metrics);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+
+        // retrieves the correlation
+        RequestCorrelation requestCorrelation = getCorrelation(exchange.getRequest().getHeaders());
+
+        // verifies the correlation id was set
+        if (requestCorrelation == null) {
+            requestCorrelation = generateCorrelation();
+            logger.debug("Request correlation id was not present, generating new one: {}", requestCorrelation);
+        } else if (metrics != null) {
+            metrics.recordInbound();
+        }
+
+        // populates the attribute
+        exchange.getAttributes().put(RequestCorrelationConsts.ATTRIBUTE_NAME, requestCorrelation);
+
+        // proceeds with execution, within the correlation context
+        final Mono<Void> result = chain.filter(exchange)
+                .subscriberContext(ReactiveRequestCorrelationUtils.withCorrelation(requestCorrelation));
+        if (interceptors.isEmpty()) {
+            return result;
+        }
+
+        // triggers the interceptors on subscription, so that the clean up always follows
+        final RequestCorrelation correlation = requestCorrelation;
+        return result
+                .doOnSubscribe(subscription -> triggerInterceptors(correlation))
+                .doFinally(signal -> triggerInterceptorsCleanup(correlation));
+    }
+
+    /**
+     * Retrieves the correlation from the request headers, if present. The inbound headers are checked in order and
+     * the first valid one is used.
+     *
+     * @param headers the request headers
+     * @return the correlation or {@code null}
+     */
+    private RequestCorrelation getCorrelation(HttpHeaders headers) {
+
+        final List<String> headerNames = properties.getInboundHeaderNames();
+        if (headerNames.isEmpty()) {
+            return resolver.resolve(properties.getHeaderName(), headers.getFirst(properties.getHeaderName()));
+        }
+
+        for (int ind = 0; ind < headerNames.size(); ind++) {
+            final String headerName = headerNames.get(ind);
+            final RequestCorrelation requestCorrelation = resolver.resolve(headerName, headers.getFirst(headerName));
+            if (requestCorrelation != null) {
+                return requestCorrelation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Generates new correlation.
+     *
+     * @return the correlation
+     */
+    private RequestCorrelation generateCorrelation() {
+
+        if (metrics == null) {
+            return doGenerateCorrelation();
+        }
+
+        final long start = System.nanoTime();
+        final RequestCorrelation correlation = doGenerateCorrelation();
+        metrics.recordGeneration(System.nanoTime() - start);
+        return correlation;
+    }
+
+    /**
+     * Generates new correlation using the configured generator.
+     *
+     * @return the correlation
+     */
+    private RequestCorrelation doGenerateCorrelation() {
+
+        if (correlationIdGenerator instanceof BinaryCorrelationIdGenerator) {
+            return ((BinaryCorrelationIdGenerator) correlationIdGenerator).generateCorrelation();
+        }
+        return new DefaultRequestCorrelation(correlationIdGenerator.generate());
+    }
+
+    /**
+     * Triggers the configured interceptors.
+     *
+     * @param correlation the correlation
+     */
+    private void triggerInterceptors(RequestCorrelation correlation) {
+
+        for (RequestCorrelationInterceptor interceptor : interceptors) {
+            interceptor.afterCorrelationIdSet(correlation.getRequestId());
+        }
+    }
+
+    /**
+     * Triggers the configured interceptors cleanUp methods, once the request processing terminates or is cancelled.
+     *
+     * @param correlation the correlation
+     */
+    private void triggerInterceptorsCleanup(RequestCorrelation correlation) {
+
+        for (RequestCorrelationInterceptor interceptor : interceptors) {
+            interceptor.cleanUp(correlation.getRequestId());
+        }
+    }
+}
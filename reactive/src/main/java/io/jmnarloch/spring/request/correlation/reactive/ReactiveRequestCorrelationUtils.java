@@ -0,0 +1,75 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.reactive;
+
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * A utility class for retrieving the request correlation from the Reactor {@link Context}. The correlation is put
+ * into the context by the {@link ReactiveRequestCorrelationFilter}, so it is visible to every operator of the request
+ * processing, regardless of the thread it is executed on.
+ *
+ * @author Jakub Narloch
+ */
+public final class ReactiveRequestCorrelationUtils {
+
+    /**
+     * The Reactor context key of the request correlation.
+     */
+    public static final Class<RequestCorrelation> CONTEXT_KEY = RequestCorrelation.class;
+
+    /**
+     * Creates new instance of {@link ReactiveRequestCorrelationUtils} class.
+     */
+    private ReactiveRequestCorrelationUtils() {
+        // private constructor
+    }
+
+    /**
+     * Retrieves the current request correlation, if present in the subscriber context.
+     *
+     * @return the correlation or empty {@link Mono}
+     */
+    public static Mono<RequestCorrelation> currentCorrelation() {
+
+        return Mono.subscriberContext()
+                .filter(context -> context.hasKey(CONTEXT_KEY))
+                .map(context -> context.get(CONTEXT_KEY));
+    }
+
+    /**
+     * Retrieves the current request correlation id, if present in the subscriber context.
+     *
+     * @return the correlation id or empty {@link Mono}
+     */
+    public static Mono<String> currentCorrelationId() {
+
+        return currentCorrelation().map(RequestCorrelation::getRequestId);
+    }
+
+    /**
+     * Creates the subscriber context holding the given correlation.
+     *
+     * @param correlation the request correlation
+     * @return the context
+     */
+    public static Context withCorrelation(RequestCorrelation correlation) {
+
+        return Context.of(CONTEXT_KEY, correlation);
+    }
+}
@@ -0,0 +1,113 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.reactive;
+
+import io.jmnarloch.spring.request.correlation.filter.DefaultRequestCorrelation;
+import io.jmnarloch.spring.request.correlation.generator.UuidRequestCorrelation;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConsts;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
+import org.junit.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests the {@link CorrelatingExchangeFilterFunction} class.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelatingExchangeFilterFunctionTest {
+
+    private final RequestCorrelationProperties properties = new RequestCorrelationProperties();
+
+    private final CorrelatingExchangeFilterFunction instance = new CorrelatingExchangeFilterFunction(properties);
+
+    private final AtomicReference<ClientRequest> request = new AtomicReference<>();
+
+    private final ExchangeFunction exchange = req -> {
+        request.set(req);
+        return Mono.just(mock(ClientResponse.class));
+    };
+
+    @Test
+    public void shouldSetHeader() {
+
+        // when
+        instance.filter(newRequest(), exchange)
+                .subscriberContext(ReactiveRequestCorrelationUtils.withCorrelation(new DefaultRequestCorrelation("id")))
+                .block();
+
+        // then
+        assertEquals("id", request.get().headers().getFirst(RequestCorrelationConsts.HEADER_NAME));
+    }
+
+    @Test
+    public void shouldNotSetHeaderWithoutCorrelation() {
+
+        // when
+        instance.filter(newRequest(), exchange).block();
+
+        // then
+        assertFalse(request.get().headers().containsKey(RequestCorrelationConsts.HEADER_NAME));
+    }
+
+    @Test
+    public void shouldSetBase64EncodedHeader() {
+
+        // given
+        properties.setHeaderEncoding(RequestCorrelationProperties.HeaderEncoding.BASE64URL);
+
+        // when
+        instance.filter(newRequest(), exchange)
+                .subscriberContext(ReactiveRequestCorrelationUtils.withCorrelation(
+                        UuidRequestCorrelation.fromString("4bf92f35-77b3-4da6-a3ce-929d0e0e4736")))
+                .block();
+
+        // then
+        assertEquals("S_kvNXezTaajzpKdDg5HNg", request.get().headers().getFirst(RequestCorrelationConsts.HEADER_NAME));
+    }
+
+    @Test
+    public void shouldKeepExplicitHeader() {
+
+        // given
+        final ClientRequest clientRequest = ClientRequest.method(HttpMethod.GET, URI.create("http://localhost/"))
+                .header(RequestCorrelationConsts.HEADER_NAME, "explicit")
+                .build();
+
+        // when
+        instance.filter(clientRequest, exchange)
+                .subscriberContext(ReactiveRequestCorrelationUtils.withCorrelation(new DefaultRequestCorrelation("id")))
+                .block();
+
+        // then
+        assertEquals("explicit", request.get().headers().getFirst(RequestCorrelationConsts.HEADER_NAME));
+    }
+
+    private static ClientRequest newRequest() {
+
+        return ClientRequest.method(HttpMethod.GET, URI.create("http://localhost/")).build();
+    }
+}
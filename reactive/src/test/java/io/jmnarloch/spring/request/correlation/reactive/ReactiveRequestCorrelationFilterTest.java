@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.reactive;
+
+import io.jmnarloch.spring.request.correlation.api.BinaryRequestCorrelation;
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelationInterceptor;
+import io.jmnarloch.spring.request.correlation.generator.UuidGenerator;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConsts;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests the {@link ReactiveRequestCorrelationFilter} class.
+ *
+ * @author Jakub Narloch
+ */
+public class ReactiveRequestCorrelationFilterTest {
+
+    private ReactiveRequestCorrelationFilter instance;
+
+    private List<RequestCorrelationInterceptor> interceptors = new ArrayList<>();
+
+    private RequestCorrelationProperties properties = new RequestCorrelationProperties();
+
+    private final AtomicReference<RequestCorrelation> correlation = new AtomicReference<>();
+
+    private final WebFilterChain chain = exchange -> ReactiveRequestCorrelationUtils.currentCorrelation()
+            .doOnNext(correlation::set)
+            .then();
+
+    @Before
+    public void setUp() throws Exception {
+
+        instance = new ReactiveRequestCorrelationFilter(new UuidGenerator(), interceptors, properties, null);
+    }
+
+    @Test
+    public void shouldInitiateCorrelationId() {
+
+        // given
+        final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+
+        // when
+        instance.filter(exchange, chain).block();
+
+        // then
+        assertNotNull(UUID.fromString(correlation.get().getRequestId()));
+        assertSame(correlation.get(), exchange.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME));
+    }
+
+    @Test
+    public void shouldUseExistingCorrelationId() {
+
+        // given
+        final String requestId = UUID.randomUUID().toString();
+        final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/")
+                .header(RequestCorrelationConsts.HEADER_NAME, requestId));
+
+        // when
+        instance.filter(exchange, chain).block();
+
+        // then
+        assertEquals(requestId, correlation.get().getRequestId());
+        assertTrue(correlation.get() instanceof BinaryRequestCorrelation);
+    }
+
+    @Test
+    public void shouldAcceptFirstInboundHeader() {
+
+        // given
+        properties.setInboundHeaderNames(Arrays.asList("X-Request-Id", "traceparent"));
+        final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/")
+                .header("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01"));
+
+        // when
+        instance.filter(exchange, chain).block();
+
+        // then
+        assertEquals("4bf92f35-77b3-4da6-a3ce-929d0e0e4736", correlation.get().getRequestId());
+    }
+
+    @Test
+    public void shouldPropagateCorrelationAcrossThreads() {
+
+        // given
+        final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/")
+                .header(RequestCorrelationConsts.HEADER_NAME, "id"));
+        final WebFilterChain asyncChain = ex -> Mono.just(ex)
+                .publishOn(Schedulers.parallel())
+                .flatMap(chain::filter);
+
+        // when
+        instance.filter(exchange, asyncChain).block();
+
+        // then
+        assertEquals("id", correlation.get().getRequestId());
+    }
+
+    @Test
+    public void shouldTriggerInterceptors() {
+
+        // given
+        final RequestCorrelationInterceptor interceptor = mock(RequestCorrelationInterceptor.class);
+        interceptors.add(interceptor);
+        instance = new ReactiveRequestCorrelationFilter(new UuidGenerator(), interceptors, properties, null);
+        final MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/")
+                .header(RequestCorrelationConsts.HEADER_NAME, "id"));
+
+        // when
+        instance.filter(exchange, chain).block();
+
+        // then
+        verify(interceptor).afterCorrelationIdSet("id");
+        verify(interceptor).cleanUp("id");
+    }
+}
@@ -15,21 +15,15 @@
  */
 package io.jmnarloch.spring.request.correlation.http;
 
-import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
-import org.springframework.beans.factory.InitializingBean;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.ClientHttpRequestInterceptor;
 import org.springframework.http.client.support.InterceptingHttpAccessor;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
- * Configures any {@link org.springframework.web.client.RestTemplate} bean by adding additional request interceptor.
+ * Configures any {@link org.springframework.web.client.RestTemplate} bean by adding additional request interceptor
+ * and any {@link org.springframework.web.client.AsyncRestTemplate} bean by decorating its request factory.
  *
  * @author Jakub Narloch
  */
@@ -38,24 +32,8 @@ import java.util.List;
 @ConditionalOnProperty(value = "request.correlation.client.http.enabled", matchIfMissing = true)
 public class ClientHttpCorrelationConfiguration {
 
-    @Autowired(required = false)
-    private List<InterceptingHttpAccessor> clients = new ArrayList<>();
-
     @Bean
-    public InitializingBean clientsCorrelationInitializer(final RequestCorrelationProperties properties) {
-
-        return new InitializingBean() {
-            @Override
-            public void afterPropertiesSet() throws Exception {
-
-                if(clients != null) {
-                    for(InterceptingHttpAccessor client : clients) {
-                        final List<ClientHttpRequestInterceptor> interceptors = new ArrayList<>(client.getInterceptors());
-                        interceptors.add(new ClientHttpRequestCorrelationInterceptor(properties));
-                        client.setInterceptors(interceptors);
-                    }
-                }
-            }
-        };
+    public static CorrelatingHttpClientBeanPostProcessor correlatingHttpClientBeanPostProcessor() {
+        return new CorrelatingHttpClientBeanPostProcessor();
     }
 }
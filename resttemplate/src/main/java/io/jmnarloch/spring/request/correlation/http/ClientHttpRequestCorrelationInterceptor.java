@@ -15,7 +15,7 @@
  */
 package io.jmnarloch.spring.request.correlation.http;
 
-import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConsts;
+import io.jmnarloch.spring.request.correlation.metrics.RequestCorrelationMetrics;
 import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
 import io.jmnarloch.spring.request.correlation.support.RequestCorrelationUtils;
 import org.springframework.http.HttpRequest;
@@ -28,7 +28,7 @@ import java.io.IOException;
 
 /**
  * Rest template http interceptor, that propagates the currents thread bound request identifier to the outgoing request,
- * through 'X-Request-Id' header.
+ * through the configured header, 'X-Request-Id' by default.
  *
  * @author Jakub Narloch
  */
@@ -39,6 +39,11 @@ public class ClientHttpRequestCorrelationInterceptor implements ClientHttpReques
      */
     private final RequestCorrelationProperties properties;
 
+    /**
+     * The optional metrics, {@code null} if disabled.
+     */
+    private final RequestCorrelationMetrics metrics;
+
     /**
      * Creates new instance of {@link ClientHttpRequestCorrelationInterceptor}.
      *
@@ -46,9 +51,21 @@ public class ClientHttpRequestCorrelationInterceptor implements ClientHttpReques
      * @throws IllegalArgumentException if {@code properties} is {@code null}
      */
     public ClientHttpRequestCorrelationInterceptor(RequestCorrelationProperties properties) {
+        this(properties, null);
+    }
+
+    /**
+     * Creates new instance of {@link ClientHttpRequestCorrelationInterceptor}.
+     *
+     * @param properties the correlation properties
+     * @param metrics    the metrics or {@code null} if disabled
+     * @throws IllegalArgumentException if {@code properties} is {@code null}
+     */
+    public ClientHttpRequestCorrelationInterceptor(RequestCorrelationProperties properties, RequestCorrelationMetrics metrics) {
         Assert.notNull(properties, "Parameter 'properties' can not be null");
 
         this.properties = properties;
+        this.metrics = metrics;
     }
 
     /**
@@ -58,9 +75,12 @@ public class ClientHttpRequestCorrelationInterceptor implements ClientHttpReques
     public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
 
         // sets the correlation id
-        final String correlationId = RequestCorrelationUtils.getCurrentCorrelationId();
+        final String correlationId = RequestCorrelationUtils.getCurrentCorrelationId(properties.getHeaderEncoding());
         if(correlationId != null) {
-            request.getHeaders().add(RequestCorrelationConsts.HEADER_NAME, correlationId);
+            request.getHeaders().add(properties.getHeaderName(), correlationId);
+        }
+        if (metrics != null) {
+            metrics.recordHttpClientRequest(correlationId != null);
         }
 
         // proceeds with execution
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.http;
+
+import io.jmnarloch.spring.request.correlation.metrics.RequestCorrelationMetrics;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.AsyncClientHttpRequest;
+import org.springframework.http.client.AsyncClientHttpRequestFactory;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.net.URI;
+
+/**
+ * The {@link AsyncClientHttpRequestFactory} decorator, that propagates the current request identifier to every
+ * created request, through the configured header, 'X-Request-Id' by default. The {@link
+ * org.springframework.web.client.AsyncRestTemplate} creates the request on the calling thread, so the identifier is
+ * captured there, regardless of the thread that later performs the I/O.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelatingAsyncClientHttpRequestFactory implements AsyncClientHttpRequestFactory {
+
+    /**
+     * The decorated request factory.
+     */
+    private final AsyncClientHttpRequestFactory delegate;
+
+    /**
+     * The correlation properties.
+     */
+    private final RequestCorrelationProperties properties;
+
+    /**
+     * The optional metrics, {@code null} if disabled.
+     */
+    private final RequestCorrelationMetrics metrics;
+
+    /**
+     * Creates new instance of {@link CorrelatingAsyncClientHttpRequestFactory}.
+     *
+     * @param delegate   the decorated request factory
+     * @param properties the correlation properties
+     * @throws IllegalArgumentException if {@code delegate} or {@code properties} is {@code null}
+     */
+    public CorrelatingAsyncClientHttpRequestFactory(AsyncClientHttpRequestFactory delegate,
+                                                    RequestCorrelationProperties properties) {
+        this(delegate, properties, null);
+    }
+
+    /**
+     * Creates new instance of {@link CorrelatingAsyncClientHttpRequestFactory}.
+     *
+     * @param delegate   the decorated request factory
+     * @param properties the correlation properties
+     * @param metrics    the metrics or {@code null} if disabled
+     * @throws IllegalArgumentException if {@code delegate} or {@code properties} is {@code null}
+     */
+    public CorrelatingAsyncClientHttpRequestFactory(AsyncClientHttpRequestFactory delegate,
+                                                    RequestCorrelationProperties properties,
+                                                    RequestCorrelationMetrics metrics) {
+        Assert.notNull(delegate, "Parameter 'delegate' can not be null");
+        Assert.notNull(properties, "Parameter 'properties' can not be null");
+
+        this.delegate = delegate;
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Retrieves the decorated request factory.
+     *
+     * @return the request factory
+     */
+    public AsyncClientHttpRequestFactory getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public AsyncClientHttpRequest createAsyncRequest(URI uri, HttpMethod httpMethod) throws IOException {
+
+        final AsyncClientHttpRequest request = delegate.createAsyncRequest(uri, httpMethod);
+
+        // sets the correlation id
+        final String correlationId = RequestCorrelationUtils.getCurrentCorrelationId(properties.getHeaderEncoding());
+        if (correlationId != null) {
+            request.getHeaders().add(properties.getHeaderName(), correlationId);
+        }
+        if (metrics != null) {
+            metrics.recordHttpClientRequest(correlationId != null);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,184 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.http;
+
+import io.jmnarloch.spring.request.correlation.metrics.RequestCorrelationMetrics;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.support.AsyncHttpAccessor;
+import org.springframework.http.client.support.InterceptingHttpAccessor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Adds the correlation interceptor to every {@link org.springframework.web.client.RestTemplate} bean and decorates
+ * the request factory of every {@link org.springframework.web.client.AsyncRestTemplate} bean, as the beans are
+ * created, so that neither of them has to be created eagerly.
+ *
+ * All of the clients share single {@link ClientHttpRequestCorrelationInterceptor}, created together with the first
+ * client, that is never added to the same client twice. The client's interceptor list is never modified in place,
+ * the client is given the new list instead.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelatingHttpClientBeanPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    /**
+     * The bean factory.
+     */
+    private BeanFactory beanFactory;
+
+    /**
+     * The lazily created interceptor.
+     */
+    private volatile ClientHttpRequestCorrelationInterceptor interceptor;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+
+        if (bean instanceof InterceptingHttpAccessor) {
+            addInterceptor((InterceptingHttpAccessor) bean);
+        }
+        if (bean instanceof AsyncHttpAccessor) {
+            decorateRequestFactory((AsyncHttpAccessor) bean);
+        }
+        return bean;
+    }
+
+    /**
+     * Adds the correlation interceptor to the client, unless already present.
+     *
+     * @param client the client
+     */
+    private void addInterceptor(InterceptingHttpAccessor client) {
+
+        final List<ClientHttpRequestInterceptor> interceptors = client.getInterceptors();
+        if (containsCorrelationInterceptor(interceptors)) {
+            return;
+        }
+
+        final List<ClientHttpRequestInterceptor> result = new ArrayList<>(interceptors.size() + 1);
+        result.addAll(interceptors);
+        result.add(getInterceptor());
+        client.setInterceptors(result);
+    }
+
+    /**
+     * Decorates the client's request factory, unless already decorated.
+     *
+     * @param client the client
+     */
+    private void decorateRequestFactory(AsyncHttpAccessor client) {
+
+        if (!(client.getAsyncRequestFactory() instanceof CorrelatingAsyncClientHttpRequestFactory)) {
+            client.setAsyncRequestFactory(new CorrelatingAsyncClientHttpRequestFactory(
+                    client.getAsyncRequestFactory(), getProperties(), getMetrics()));
+        }
+    }
+
+    /**
+     * Retrieves the shared interceptor, creating it on the first call.
+     *
+     * @return the interceptor
+     */
+    private ClientHttpRequestCorrelationInterceptor getInterceptor() {
+
+        ClientHttpRequestCorrelationInterceptor result = interceptor;
+        if (result == null) {
+            result = new ClientHttpRequestCorrelationInterceptor(getProperties(), getMetrics());
+            interceptor = result;
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the correlation properties from the bean factory.
+     *
+     * @return the correlation properties
+     */
+    private RequestCorrelationProperties getProperties() {
+
+        final RequestCorrelationProperties properties = findBean(RequestCorrelationProperties.class);
+        return properties != null ? properties : beanFactory.getBean(RequestCorrelationProperties.class);
+    }
+
+    /**
+     * Retrieves the optional metrics from the bean factory.
+     *
+     * @return the metrics or {@code null} if disabled
+     */
+    private RequestCorrelationMetrics getMetrics() {
+        return findBean(RequestCorrelationMetrics.class);
+    }
+
+    /**
+     * Finds the bean of the given type. The lookup does not initialize the factory beans or the lazy beans just to
+     * find out their type, since the post processor runs while the other beans are still being created.
+     *
+     * @param type the bean type
+     * @param <T>  the bean type
+     * @return the bean or {@code null} if not found
+     */
+    private <T> T findBean(Class<T> type) {
+
+        if (!(beanFactory instanceof ListableBeanFactory)) {
+            return null;
+        }
+        final String[] names = ((ListableBeanFactory) beanFactory).getBeanNamesForType(type, false, false);
+        return names.length > 0 ? beanFactory.getBean(names[0], type) : null;
+    }
+
+    /**
+     * Returns whether the interceptors already contain the correlation interceptor.
+     *
+     * @param interceptors the interceptors
+     * @return {@code true} if the correlation interceptor is present, {@code false} otherwise
+     */
+    private static boolean containsCorrelationInterceptor(List<ClientHttpRequestInterceptor> interceptors) {
+
+        for (ClientHttpRequestInterceptor interceptor : interceptors) {
+            if (interceptor instanceof ClientHttpRequestCorrelationInterceptor) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -16,7 +16,9 @@
 package io.jmnarloch.spring.request.correlation.http;
 
 import io.jmnarloch.spring.request.correlation.CorrelationTestUtils;
+import io.jmnarloch.spring.request.correlation.generator.UuidRequestCorrelation;
 import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConsts;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationContextHolder;
 import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
 import org.junit.After;
 import org.junit.Before;
@@ -95,4 +97,50 @@ public class ClientHttpRequestCorrelationInterceptorTest {
         assertFalse(request.getHeaders().containsKey(RequestCorrelationConsts.HEADER_NAME));
         verify(execution).execute(request, body);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldSetConfiguredHeader() throws IOException {
+
+        // given
+        final RequestCorrelationProperties properties = new RequestCorrelationProperties();
+        properties.setHeaderName("X-Correlation-Id");
+        instance = new ClientHttpRequestCorrelationInterceptor(properties);
+        CorrelationTestUtils.setRequestId("id");
+
+        final HttpRequest request = mock(HttpRequest.class);
+        final ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        when(request.getHeaders()).thenReturn(new HttpHeaders());
+
+        // when
+        instance.intercept(request, new byte[0], execution);
+
+        // then
+        assertEquals("id", request.getHeaders().getFirst("X-Correlation-Id"));
+        assertFalse(request.getHeaders().containsKey(RequestCorrelationConsts.HEADER_NAME));
+    }
+
+    @Test
+    public void shouldSetBase64EncodedHeader() throws IOException {
+
+        // given
+        final RequestCorrelationProperties properties = new RequestCorrelationProperties();
+        properties.setHeaderEncoding(RequestCorrelationProperties.HeaderEncoding.BASE64URL);
+        instance = new ClientHttpRequestCorrelationInterceptor(properties);
+        RequestCorrelationContextHolder.setRequestCorrelation(
+                UuidRequestCorrelation.fromString("4bf92f35-77b3-4da6-a3ce-929d0e0e4736"));
+
+        final HttpRequest request = mock(HttpRequest.class);
+        final ClientHttpRequestExecution execution = mock(ClientHttpRequestExecution.class);
+        when(request.getHeaders()).thenReturn(new HttpHeaders());
+
+        try {
+            // when
+            instance.intercept(request, new byte[0], execution);
+        } finally {
+            RequestCorrelationContextHolder.resetRequestCorrelation();
+        }
+
+        // then
+        assertEquals("S_kvNXezTaajzpKdDg5HNg", request.getHeaders().getFirst(RequestCorrelationConsts.HEADER_NAME));
+    }
+}
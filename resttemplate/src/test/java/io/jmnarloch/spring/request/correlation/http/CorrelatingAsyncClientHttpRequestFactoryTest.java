@@ -0,0 +1,125 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.http;
+
+import io.jmnarloch.spring.request.correlation.CorrelationTestUtils;
+import io.jmnarloch.spring.request.correlation.metrics.RequestCorrelationMetrics;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConsts;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.AsyncClientHttpRequest;
+import org.springframework.http.client.AsyncClientHttpRequestFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.net.URI;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the {@link CorrelatingAsyncClientHttpRequestFactory} class.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelatingAsyncClientHttpRequestFactoryTest {
+
+    private static final URI URI = java.net.URI.create("http://localhost/");
+
+    private AsyncClientHttpRequestFactory delegate;
+
+    private AsyncClientHttpRequest request;
+
+    private CorrelatingAsyncClientHttpRequestFactory instance;
+
+    @Before
+    public void setUp() throws Exception {
+        delegate = mock(AsyncClientHttpRequestFactory.class);
+        request = mock(AsyncClientHttpRequest.class);
+        when(request.getHeaders()).thenReturn(new HttpHeaders());
+        when(delegate.createAsyncRequest(URI, HttpMethod.GET)).thenReturn(request);
+
+        instance = new CorrelatingAsyncClientHttpRequestFactory(delegate, new RequestCorrelationProperties());
+
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void shouldSetHeader() throws Exception {
+
+        // given
+        final String requestId = UUID.randomUUID().toString();
+        CorrelationTestUtils.setRequestId(requestId);
+
+        // when
+        final AsyncClientHttpRequest result = instance.createAsyncRequest(URI, HttpMethod.GET);
+
+        // then
+        assertSame(request, result);
+        assertEquals(requestId, result.getHeaders().getFirst(RequestCorrelationConsts.HEADER_NAME));
+    }
+
+    @Test
+    public void shouldNotSetHeader() throws Exception {
+
+        // when
+        final AsyncClientHttpRequest result = instance.createAsyncRequest(URI, HttpMethod.GET);
+
+        // then
+        assertFalse(result.getHeaders().containsKey(RequestCorrelationConsts.HEADER_NAME));
+    }
+
+    @Test
+    public void shouldCaptureIdOnCallingThread() throws Exception {
+
+        // given
+        CorrelationTestUtils.setRequestId("id");
+        final AsyncClientHttpRequest result = instance.createAsyncRequest(URI, HttpMethod.GET);
+
+        // when
+        RequestContextHolder.resetRequestAttributes();
+
+        // then
+        assertEquals("id", result.getHeaders().getFirst(RequestCorrelationConsts.HEADER_NAME));
+    }
+
+    @Test
+    public void shouldRecordMetrics() throws Exception {
+
+        // given
+        final RequestCorrelationMetrics metrics = mock(RequestCorrelationMetrics.class);
+        instance = new CorrelatingAsyncClientHttpRequestFactory(delegate, new RequestCorrelationProperties(), metrics);
+        CorrelationTestUtils.setRequestId("id");
+
+        // when
+        instance.createAsyncRequest(URI, HttpMethod.GET);
+
+        // then
+        verify(metrics).recordHttpClientRequest(true);
+    }
+}
@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.http;
+
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
+import org.junit.Before;
+import org.junit.Test;
+import io.jmnarloch.spring.request.correlation.metrics.RequestCorrelationMetrics;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.http.client.AsyncClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.web.client.AsyncRestTemplate;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests the {@link CorrelatingHttpClientBeanPostProcessor} class.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelatingHttpClientBeanPostProcessorTest {
+
+    private static final AtomicInteger FACTORY_BEANS = new AtomicInteger();
+
+    private final CorrelatingHttpClientBeanPostProcessor instance = new CorrelatingHttpClientBeanPostProcessor();
+
+    private final DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+
+    @Before
+    public void setUp() throws Exception {
+
+        beanFactory.registerSingleton("requestCorrelationProperties", new RequestCorrelationProperties());
+        instance.setBeanFactory(beanFactory);
+    }
+
+    @Test
+    public void shouldAddInterceptor() {
+
+        // given
+        final RestTemplate template = new RestTemplate();
+        final List<ClientHttpRequestInterceptor> interceptors = template.getInterceptors();
+
+        // when
+        final Object result = instance.postProcessAfterInitialization(template, "restTemplate");
+
+        // then
+        assertSame(template, result);
+        assertNotSame(interceptors, template.getInterceptors());
+        assertTrue(interceptors.isEmpty());
+        assertEquals(1, template.getInterceptors().size());
+        assertTrue(template.getInterceptors().get(0) instanceof ClientHttpRequestCorrelationInterceptor);
+    }
+
+    @Test
+    public void shouldNotAddInterceptorTwice() {
+
+        // given
+        final RestTemplate template = new RestTemplate();
+
+        // when
+        instance.postProcessAfterInitialization(template, "restTemplate");
+        instance.postProcessAfterInitialization(template, "restTemplate");
+
+        // then
+        assertEquals(1, template.getInterceptors().size());
+    }
+
+    @Test
+    public void shouldShareInterceptor() {
+
+        // given
+        final RestTemplate first = new RestTemplate();
+        final RestTemplate second = new RestTemplate();
+
+        // when
+        instance.postProcessAfterInitialization(first, "first");
+        instance.postProcessAfterInitialization(second, "second");
+
+        // then
+        assertSame(first.getInterceptors().get(0), second.getInterceptors().get(0));
+    }
+
+    @Test
+    public void shouldKeepExistingInterceptors() {
+
+        // given
+        final ClientHttpRequestInterceptor existing = mock(ClientHttpRequestInterceptor.class);
+        final RestTemplate template = new RestTemplate();
+        template.setInterceptors(Collections.singletonList(existing));
+
+        // when
+        instance.postProcessAfterInitialization(template, "restTemplate");
+
+        // then
+        assertEquals(2, template.getInterceptors().size());
+        assertSame(existing, template.getInterceptors().get(0));
+        assertTrue(template.getInterceptors().get(1) instanceof ClientHttpRequestCorrelationInterceptor);
+    }
+
+    @Test
+    public void shouldDecorateAsyncRequestFactoryOnce() {
+
+        // given
+        final AsyncRestTemplate template = new AsyncRestTemplate();
+        final AsyncClientHttpRequestFactory requestFactory = template.getAsyncRequestFactory();
+
+        // when
+        instance.postProcessAfterInitialization(template, "asyncRestTemplate");
+        instance.postProcessAfterInitialization(template, "asyncRestTemplate");
+
+        // then
+        assertTrue(template.getAsyncRequestFactory() instanceof CorrelatingAsyncClientHttpRequestFactory);
+        assertSame(requestFactory,
+                ((CorrelatingAsyncClientHttpRequestFactory) template.getAsyncRequestFactory()).getDelegate());
+    }
+
+    @Test
+    public void shouldUseMetrics() throws Exception {
+
+        // given
+        final RequestCorrelationMetrics metrics = new RequestCorrelationMetrics();
+        beanFactory.registerSingleton("requestCorrelationMetrics", metrics);
+        final RestTemplate template = new RestTemplate();
+
+        // when
+        instance.postProcessAfterInitialization(template, "restTemplate");
+
+        // then
+        final ClientHttpRequestCorrelationInterceptor interceptor =
+                (ClientHttpRequestCorrelationInterceptor) template.getInterceptors().get(0);
+        interceptor.intercept(new MockClientHttpRequest(), new byte[0], mock(ClientHttpRequestExecution.class));
+        assertEquals(1, metrics.getHttpClientMissing());
+    }
+
+    @Test
+    public void shouldNotInitializeFactoryBeansForMetricsLookup() {
+
+        // given
+        FACTORY_BEANS.set(0);
+        beanFactory.registerBeanDefinition("factoryBean", new RootBeanDefinition(UntypedFactoryBean.class));
+
+        // when
+        instance.postProcessAfterInitialization(new RestTemplate(), "restTemplate");
+
+        // then
+        assertEquals(0, FACTORY_BEANS.get());
+    }
+
+    @Test
+    public void shouldNotResolveBeansForOtherBeans() {
+
+        // given
+        final BeanFactory beanFactory = mock(BeanFactory.class);
+        instance.setBeanFactory(beanFactory);
+        final Object bean = new Object();
+
+        // when
+        final Object result = instance.postProcessAfterInitialization(bean, "bean");
+
+        // then
+        assertSame(bean, result);
+        verifyZeroInteractions(beanFactory);
+    }
+
+    public static class UntypedFactoryBean implements FactoryBean<Object> {
+
+        public UntypedFactoryBean() {
+            FACTORY_BEANS.incrementAndGet();
+        }
+
+        @Override
+        public Object getObject() {
+            return new Object();
+        }
+
+        @Override
+        public Class<?> getObjectType() {
+            return null;
+        }
+
+        @Override
+        public boolean isSingleton() {
+            return true;
+        }
+    }
+}
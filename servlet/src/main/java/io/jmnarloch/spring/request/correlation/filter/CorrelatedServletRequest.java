@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.filter;
+
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.util.Enumeration;
+import java.util.NoSuchElementException;
+
+/**
+ * An http servlet wrapper that overrides the single correlation header. The header name is matched case insensitively
+ * and the header enumerations are created lazily, without copying the wrapped request headers.
+ *
+ * @author Jakub Narloch
+ */
+class CorrelatedServletRequest extends HttpServletRequestWrapper {
+
+    /**
+     * The correlation header name.
+     */
+    private final String headerName;
+
+    /**
+     * The request correlation.
+     */
+    private final RequestCorrelation correlation;
+
+    /**
+     * Creates a ServletRequest adaptor wrapping the given request object.
+     *
+     * @param request     The request to wrap
+     * @param headerName  the correlation header name
+     * @param correlation the request correlation
+     * @throws IllegalArgumentException if the request is null
+     */
+    CorrelatedServletRequest(HttpServletRequest request, String headerName, RequestCorrelation correlation) {
+        super(request);
+        this.headerName = headerName;
+        this.correlation = correlation;
+    }
+
+    @Override
+    public String getHeader(String name) {
+        if (headerName.equalsIgnoreCase(name)) {
+            return correlation.getRequestId();
+        }
+        return super.getHeader(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaders(String name) {
+        if (headerName.equalsIgnoreCase(name)) {
+            return new SingletonEnumeration(correlation.getRequestId());
+        }
+        return super.getHeaders(name);
+    }
+
+    @Override
+    public Enumeration<String> getHeaderNames() {
+        return new HeaderNamesEnumeration(headerName, super.getHeaderNames());
+    }
+
+    /**
+     * Enumeration over single header value.
+     */
+    private static class SingletonEnumeration implements Enumeration<String> {
+
+        /**
+         * The value to return, cleared once it has been returned.
+         */
+        private String value;
+
+        /**
+         * Creates new instance of {@link SingletonEnumeration} class.
+         *
+         * @param value the header value
+         */
+        SingletonEnumeration(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            return value != null;
+        }
+
+        @Override
+        public String nextElement() {
+            if (value == null) {
+                throw new NoSuchElementException();
+            }
+            final String result = value;
+            value = null;
+            return result;
+        }
+    }
+
+    /**
+     * Enumeration over the correlation header name followed by the wrapped request header names, skipping the ones
+     * that match the correlation header.
+     */
+    private static class HeaderNamesEnumeration implements Enumeration<String> {
+
+        /**
+         * The correlation header name.
+         */
+        private final String headerName;
+
+        /**
+         * The wrapped request header names, possibly null.
+         */
+        private final Enumeration<String> names;
+
+        /**
+         * The next header name to return, or null if it has not been looked up yet.
+         */
+        private String next;
+
+        /**
+         * Creates new instance of {@link HeaderNamesEnumeration} class.
+         *
+         * @param headerName the correlation header name
+         * @param names      the wrapped request header names
+         */
+        HeaderNamesEnumeration(String headerName, Enumeration<String> names) {
+            this.headerName = headerName;
+            this.names = names;
+            this.next = headerName;
+        }
+
+        @Override
+        public boolean hasMoreElements() {
+            while (next == null && names != null && names.hasMoreElements()) {
+                final String name = names.nextElement();
+                if (!headerName.equalsIgnoreCase(name)) {
+                    next = name;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public String nextElement() {
+            if (!hasMoreElements()) {
+                throw new NoSuchElementException();
+            }
+            final String result = next;
+            next = null;
+            return result;
+        }
+    }
+}
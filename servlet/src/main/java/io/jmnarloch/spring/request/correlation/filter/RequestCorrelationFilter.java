@@ -0,0 +1,531 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.filter;
+
+import io.jmnarloch.spring.request.correlation.api.BinaryCorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.api.CorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelationInterceptor;
+import io.jmnarloch.spring.request.correlation.api.ThreadBoundCorrelationInterceptor;
+import io.jmnarloch.spring.request.correlation.metrics.RequestCorrelationMetrics;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConsts;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationContextHolder;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * The entry point for the request correlation. This filter intercepts any incoming request and in case that it
+ * does not contain the correlation header creates new identifier and stores it both as the request header
+ * and also as a attribute.
+ *
+ * @author Jakub Narloch
+ * @author Souris Stathis
+ */
+public class RequestCorrelationFilter implements Filter {
+
+    /**
+     * Logger instance used by this class.
+     */
+    private final Logger logger = LoggerFactory.getLogger(RequestCorrelationFilter.class);
+
+    /**
+     * The request generator used for generating new identifiers.
+     */
+    private final CorrelationIdGenerator correlationIdGenerator;
+
+    /**
+     * List of optional interceptors.
+     */
+    private final List<RequestCorrelationInterceptor> interceptors;
+
+    /**
+     * The request correlation properties.
+     */
+    private final RequestCorrelationProperties properties;
+
+    /**
+     * The optional metrics, {@code null} if disabled.
+     */
+    private final RequestCorrelationMetrics metrics;
+
+    /**
+     * The request path matcher, {@code null} if all of the requests are correlated.
+     */
+    private final RequestPathMatcher pathMatcher;
+
+    /**
+     * The inbound correlation resolver.
+     */
+    private final InboundCorrelationResolver resolver;
+
+    /**
+     * Creates new instance of {@link RequestCorrelationFilter} class.
+     *
+     * @param correlationIdGenerator the request id generator
+     * @param interceptors           the correlation interceptors
+     * @param properties the request properties
+     * @throws IllegalArgumentException if {@code requestIdGenerator} is {@code null}
+     *                                  or {@code interceptors} is {@code null}
+     *                                  or {@code properties} is {@code null}
+     */
+    public RequestCorrelationFilter(CorrelationIdGenerator correlationIdGenerator,
+                                    List<RequestCorrelationInterceptor> interceptors, RequestCorrelationProperties properties) {
+        this(correlationIdGenerator, interceptors, properties, null);
+    }
+
+    /**
+     * Creates new instance of {@link RequestCorrelationFilter} class.
+     *
+     * @param correlationIdGenerator the request id generator
+     * @param interceptors           the correlation interceptors
+     * @param properties             the request properties
+     * @param metrics                the metrics or {@code null} if disabled
+     * @throws IllegalArgumentException if {@code requestIdGenerator} is {@code null}
+     *                                  or {@code interceptors} is {@code null}
+     *                                  or {@code properties} is {@code null}
+     */
+    public RequestCorrelationFilter(CorrelationIdGenerator correlationIdGenerator,
+                                    List<RequestCorrelationInterceptor> interceptors, RequestCorrelationProperties properties,
+                                    RequestCorrelationMetrics metrics) {
+        Assert.notNull(correlationIdGenerator, "Parameter 'correlationIdGenerator' can not be null.");
+        Assert.notNull(interceptors, "Parameter 'interceptors' can not be null.");
+        Assert.notNull(properties, "Parameter 'properties' can not be null.");
+
+        this.correlationIdGenerator = correlationIdGenerator;
+        this.interceptors = interceptors;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.pathMatcher = properties.getIncludePatterns().isEmpty() && properties.getExcludePatterns().isEmpty() ?
+                null : new RequestPathMatcher(properties.getIncludePatterns(), properties.getExcludePatterns());
+        this.resolver = new InboundCorrelationResolver(properties, metrics);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        // empty method
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void destroy() {
+        // empty method
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain) throws IOException, ServletException {
+
+        if (request instanceof HttpServletRequest && response instanceof HttpServletResponse) {
+            doHttpFilter((HttpServletRequest) request, (HttpServletResponse) response, chain);
+        } else {
+            // otherwise just pass through
+            chain.doFilter(request, response);
+        }
+    }
+
+    /**
+     * Performs 'enrichment' of incoming HTTP request.
+     *
+     * @param request  the http servlet request
+     * @param response the http servlet response
+     * @param chain    the filter processing chain
+     * @throws IOException      if any error occurs
+     * @throws ServletException if any error occurs
+     */
+    private void doHttpFilter(final HttpServletRequest request, final HttpServletResponse response,
+                              final FilterChain chain) throws IOException, ServletException {
+
+        // passes through the excluded requests
+        if (pathMatcher != null && !pathMatcher.isCorrelated(getPathWithinApplication(request), 0)) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // reuses the correlation of the forwarded or asynchronously dispatched request
+        final Object existingCorrelation = request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME);
+        if (existingCorrelation instanceof RequestCorrelation) {
+            doRedispatchFilter(request, response, chain, (RequestCorrelation) existingCorrelation);
+            return;
+        }
+
+        // retrieves the correlation
+        RequestCorrelation requestCorrelation = getCorrelation(request);
+
+        // verifies the correlation id was set
+        if (requestCorrelation == null) {
+            requestCorrelation = generateCorrelation();
+            logger.debug("Request correlation id was not present, generating new one: {}", requestCorrelation);
+        } else if (metrics != null) {
+            metrics.recordInbound();
+        }
+
+        // populates the attribute
+        final ServletRequest req = enrichRequest(request, requestCorrelation);
+
+        // binds the correlation for the time of the processing
+        final RequestCorrelation correlation = requestCorrelation;
+        callWithCorrelation(correlation, new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                // triggers interceptors, with the correlation already bound
+                triggerInterceptors(correlation);
+                try {
+                    // proceeds with execution
+                    chain.doFilter(req, response);
+                } finally {
+                    if (request.isAsyncStarted()) {
+                        // defers the cleanup until the asynchronous processing completes
+                        triggerThreadBoundInterceptorsCleanup(correlation);
+                        request.getAsyncContext().addListener(new CorrelationAsyncListener(correlation));
+                    } else {
+                        triggerInterceptorsCleanup(correlation);
+                    }
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Processes the re-dispatch of the already correlated request. The correlation is only bound to the current
+     * thread together with the {@link ThreadBoundCorrelationInterceptor}s, the remaining interceptors have already been
+     * triggered by the initial dispatch. The request is wrapped again only if the container did not pass the
+     * previously wrapped request.
+     *
+     * @param request            the http servlet request
+     * @param response           the http servlet response
+     * @param chain              the filter processing chain
+     * @param requestCorrelation the correlation of the initial dispatch
+     * @throws IOException      if any error occurs
+     * @throws ServletException if any error occurs
+     */
+    private void doRedispatchFilter(HttpServletRequest request, final HttpServletResponse response,
+                                    final FilterChain chain, final RequestCorrelation requestCorrelation)
+            throws IOException, ServletException {
+
+        final ServletRequest req = requestCorrelation.getRequestId().equals(request.getHeader(properties.getHeaderName())) ?
+                request : new CorrelatedServletRequest(request, properties.getHeaderName(), requestCorrelation);
+
+        callWithCorrelation(requestCorrelation, new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                triggerThreadBoundInterceptors(requestCorrelation);
+                try {
+                    chain.doFilter(req, response);
+                } finally {
+                    triggerThreadBoundInterceptorsCleanup(requestCorrelation);
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Retrieves the decoded request path within the application, without the path parameters like the
+     * {@code ;jsessionid}, out of the servlet path and the path info.
+     *
+     * @param request the http servlet request
+     * @return the path within the application
+     */
+    private static String getPathWithinApplication(HttpServletRequest request) {
+
+        final String servletPath = request.getServletPath();
+        final String pathInfo = request.getPathInfo();
+        return pathInfo != null ? servletPath + pathInfo : servletPath;
+    }
+
+    /**
+     * Calls the given callable with the correlation bound through the {@link RequestCorrelationContextHolder}.
+     *
+     * @param correlation the correlation
+     * @param callable    the callable
+     * @throws IOException      if any error occurs
+     * @throws ServletException if any error occurs
+     */
+    private static void callWithCorrelation(RequestCorrelation correlation, Callable<Void> callable)
+            throws IOException, ServletException {
+
+        try {
+            RequestCorrelationContextHolder.callWithCorrelation(correlation, callable);
+        } catch (IOException | ServletException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+    }
+
+    /**
+     * Retrieves the correlation from the request, if present. The inbound headers are checked in order and the first
+     * valid one is used.
+     *
+     * @param request the http servlet request
+     * @return the correlation or {@code null}
+     */
+    private RequestCorrelation getCorrelation(HttpServletRequest request) {
+
+        final List<String> headerNames = properties.getInboundHeaderNames();
+        if (headerNames.isEmpty()) {
+            return getCorrelation(request, properties.getHeaderName());
+        }
+
+        for (int ind = 0; ind < headerNames.size(); ind++) {
+            final RequestCorrelation requestCorrelation = getCorrelation(request, headerNames.get(ind));
+            if (requestCorrelation != null) {
+                return requestCorrelation;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Retrieves the correlation from the single request header.
+     *
+     * @param request    the http servlet request
+     * @param headerName the header name
+     * @return the correlation or {@code null}
+     */
+    private RequestCorrelation getCorrelation(HttpServletRequest request, String headerName) {
+
+        return resolver.resolve(headerName, request.getHeader(headerName));
+    }
+
+    /**
+     * Generates new correlation.
+     *
+     * @return the correlation
+     */
+    private RequestCorrelation generateCorrelation() {
+
+        if (metrics == null) {
+            return doGenerateCorrelation();
+        }
+
+        final long start = System.nanoTime();
+        final RequestCorrelation correlation = doGenerateCorrelation();
+        metrics.recordGeneration(System.nanoTime() - start);
+        return correlation;
+    }
+
+    /**
+     * Generates new correlation using the configured generator.
+     *
+     * @return the correlation
+     */
+    private RequestCorrelation doGenerateCorrelation() {
+
+        if (correlationIdGenerator instanceof BinaryCorrelationIdGenerator) {
+            return ((BinaryCorrelationIdGenerator) correlationIdGenerator).generateCorrelation();
+        }
+        return new DefaultRequestCorrelation(correlationIdGenerator.generate());
+    }
+
+    /**
+     * Triggers the configured interceptors.
+     *
+     * @param correlation the correlation
+     */
+    private void triggerInterceptors(RequestCorrelation correlation) {
+
+        final long start = metrics != null ? System.nanoTime() : 0L;
+        for (RequestCorrelationInterceptor interceptor : interceptors) {
+            interceptor.afterCorrelationIdSet(correlation.getRequestId());
+        }
+        if (metrics != null) {
+            metrics.recordInterceptors(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Triggers the configured interceptors cleanUp methods.
+     *
+     * @param correlation the correlation
+     */
+    private void triggerInterceptorsCleanup(RequestCorrelation correlation) {
+
+        final long start = metrics != null ? System.nanoTime() : 0L;
+        for (RequestCorrelationInterceptor interceptor : interceptors) {
+            interceptor.cleanUp(correlation.getRequestId());
+        }
+        if (metrics != null) {
+            metrics.recordInterceptorsCleanup(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Triggers the cleanUp methods of the interceptors, other than the {@link ThreadBoundCorrelationInterceptor}s.
+     *
+     * @param correlation the correlation
+     */
+    private void triggerRequestInterceptorsCleanup(RequestCorrelation correlation) {
+
+        final long start = metrics != null ? System.nanoTime() : 0L;
+        for (RequestCorrelationInterceptor interceptor : interceptors) {
+            if (!(interceptor instanceof ThreadBoundCorrelationInterceptor)) {
+                interceptor.cleanUp(correlation.getRequestId());
+            }
+        }
+        if (metrics != null) {
+            metrics.recordInterceptorsCleanup(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Triggers the {@link ThreadBoundCorrelationInterceptor}s.
+     *
+     * @param correlation the correlation
+     */
+    private void triggerThreadBoundInterceptors(RequestCorrelation correlation) {
+
+        for (RequestCorrelationInterceptor interceptor : interceptors) {
+            if (interceptor instanceof ThreadBoundCorrelationInterceptor) {
+                interceptor.afterCorrelationIdSet(correlation.getRequestId());
+            }
+        }
+    }
+
+    /**
+     * Triggers the {@link ThreadBoundCorrelationInterceptor}s cleanUp methods.
+     *
+     * @param correlation the correlation
+     */
+    private void triggerThreadBoundInterceptorsCleanup(RequestCorrelation correlation) {
+
+        for (RequestCorrelationInterceptor interceptor : interceptors) {
+            if (interceptor instanceof ThreadBoundCorrelationInterceptor) {
+                interceptor.cleanUp(correlation.getRequestId());
+            }
+        }
+    }
+
+    /**
+     * "Enriches" the request.
+     *
+     * @param request       the http servlet request
+     * @param correlationId the correlation id
+     * @return the servlet request
+     */
+    private ServletRequest enrichRequest(HttpServletRequest request, RequestCorrelation correlationId) {
+
+        request.setAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME, correlationId);
+        return new CorrelatedServletRequest(request, properties.getHeaderName(), correlationId);
+    }
+
+    /**
+     * Cleans up the interceptors once the asynchronous processing of the request completes, times out or fails. The
+     * correlation is bound to the container thread for the time of the cleanup.
+     */
+    private class CorrelationAsyncListener implements AsyncListener {
+
+        /**
+         * The request correlation.
+         */
+        private final RequestCorrelation correlation;
+
+        /**
+         * Whether the cleanup has already been performed.
+         */
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        /**
+         * Creates new instance of {@link CorrelationAsyncListener} class.
+         *
+         * @param correlation the request correlation
+         */
+        CorrelationAsyncListener(RequestCorrelation correlation) {
+            this.correlation = correlation;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onComplete(AsyncEvent event) throws IOException {
+            complete();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            complete();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onError(AsyncEvent event) throws IOException {
+            complete();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void onStartAsync(AsyncEvent event) throws IOException {
+
+            // the listeners are removed when the asynchronous processing is started again
+            event.getAsyncContext().addListener(this);
+        }
+
+        /**
+         * Performs the cleanup, only once.
+         *
+         * @throws IOException if any error occurs
+         */
+        private void complete() throws IOException {
+
+            if (!completed.compareAndSet(false, true)) {
+                return;
+            }
+
+            try {
+                callWithCorrelation(correlation, new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        triggerThreadBoundInterceptors(correlation);
+                        try {
+                            triggerRequestInterceptorsCleanup(correlation);
+                        } finally {
+                            triggerThreadBoundInterceptorsCleanup(correlation);
+                        }
+                        return null;
+                    }
+                });
+            } catch (ServletException e) {
+                throw new IOException(e);
+            }
+        }
+    }
+}
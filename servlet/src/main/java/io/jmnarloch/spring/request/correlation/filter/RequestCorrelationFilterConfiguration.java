@@ -13,53 +13,47 @@
  * See the License for the specific language governing permissions and
  * limitations under the License.
  */
-package io.jmnarloch.spring.request.correlation.support;
+package io.jmnarloch.spring.request.correlation.filter;
 
 import io.jmnarloch.spring.request.correlation.api.CorrelationIdGenerator;
 import io.jmnarloch.spring.request.correlation.api.RequestCorrelationInterceptor;
-import io.jmnarloch.spring.request.correlation.filter.RequestCorrelationFilter;
-import io.jmnarloch.spring.request.correlation.generator.UuidGenerator;
+import io.jmnarloch.spring.request.correlation.metrics.RequestCorrelationMetrics;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.embedded.FilterRegistrationBean;
-import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.Ordered;
 
 import javax.servlet.DispatcherType;
+import javax.servlet.Filter;
 import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
 
 /**
- * Configures the request correlation filter.
+ * Configures the request correlation filter of the servlet applications.
  *
  * @author Jakub Narloch
  * @see io.jmnarloch.spring.request.correlation.api.EnableRequestCorrelation
  */
 @Configuration
-@EnableConfigurationProperties
-public class RequestCorrelationConfiguration {
+@ConditionalOnClass(Filter.class)
+@ConditionalOnWebApplication
+public class RequestCorrelationFilterConfiguration {
 
     @Autowired(required = false)
     private List<RequestCorrelationInterceptor> interceptors = new ArrayList<>();
 
-    @Bean
-    public RequestCorrelationProperties requestCorrelationProperties() {
-        return new RequestCorrelationProperties();
-    }
-
-    @Bean
-    @ConditionalOnMissingBean(CorrelationIdGenerator.class)
-    public CorrelationIdGenerator requestIdGenerator() {
-        return new UuidGenerator();
-    }
+    @Autowired(required = false)
+    private RequestCorrelationMetrics metrics;
 
     @Bean
     public RequestCorrelationFilter requestCorrelationFilter(CorrelationIdGenerator generator, RequestCorrelationProperties properties) {
 
-        return new RequestCorrelationFilter(generator, interceptors, properties);
+        return new RequestCorrelationFilter(generator, interceptors, properties, metrics);
     }
 
     @Bean
@@ -0,0 +1,213 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.filter;
+
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decides which request paths are correlated, based on the include and exclude patterns compiled into the prefix
+ * tries. A pattern is either the exact path, like {@code /health}, or the prefix when it ends with {@code /**}, which
+ * also matches the path without the trailing slash, or with {@code *}. The path is correlated if it does not match any
+ * exclude pattern and either there are no include patterns or it matches any of them.
+ *
+ * The matching walks the path characters once per trie and does not allocate.
+ *
+ * @author Jakub Narloch
+ */
+public final class RequestPathMatcher {
+
+    /**
+     * The include patterns trie, {@code null} if there are no include patterns.
+     */
+    private final Node includes;
+
+    /**
+     * The exclude patterns trie, {@code null} if there are no exclude patterns.
+     */
+    private final Node excludes;
+
+    /**
+     * Creates new instance of {@link RequestPathMatcher} class.
+     *
+     * @param includePatterns the include patterns
+     * @param excludePatterns the exclude patterns
+     * @throws IllegalArgumentException if {@code includePatterns} is {@code null}
+     *                                  or {@code excludePatterns} is {@code null}
+     *                                  or any pattern contains wildcard other than the trailing one
+     */
+    public RequestPathMatcher(List<String> includePatterns, List<String> excludePatterns) {
+        Assert.notNull(includePatterns, "Parameter 'includePatterns' can not be null");
+        Assert.notNull(excludePatterns, "Parameter 'excludePatterns' can not be null");
+
+        this.includes = compile(includePatterns);
+        this.excludes = compile(excludePatterns);
+    }
+
+    /**
+     * Returns whether the request with the given path should be correlated.
+     *
+     * @param uri    the request uri
+     * @param offset the offset of the path within the application, the context path length
+     * @return whether the request should be correlated
+     */
+    public boolean isCorrelated(String uri, int offset) {
+
+        if (excludes != null && matches(excludes, uri, offset)) {
+            return false;
+        }
+        return includes == null || matches(includes, uri, offset);
+    }
+
+    /**
+     * Matches the path against the trie.
+     *
+     * @param root   the trie root
+     * @param uri    the request uri
+     * @param offset the path offset
+     * @return whether any pattern matches
+     */
+    private static boolean matches(Node root, String uri, int offset) {
+
+        Node node = root;
+        for (int ind = offset; ind < uri.length(); ind++) {
+            if (node.prefix) {
+                return true;
+            }
+            node = node.child(uri.charAt(ind));
+            if (node == null) {
+                return false;
+            }
+        }
+        return node.prefix || node.exact;
+    }
+
+    /**
+     * Compiles the patterns into the trie.
+     *
+     * @param patterns the patterns
+     * @return the trie root or {@code null} if there are no patterns
+     */
+    private static Node compile(List<String> patterns) {
+
+        if (patterns.isEmpty()) {
+            return null;
+        }
+
+        final Node root = new Node();
+        for (String pattern : patterns) {
+            final String trimmed = pattern.trim();
+            if (trimmed.endsWith("/**")) {
+                final String path = trimmed.substring(0, trimmed.length() - 3);
+                validate(pattern, path);
+                root.add(path, 0).exact = true;
+                root.add(path + "/", 0).prefix = true;
+            } else if (trimmed.endsWith("*")) {
+                final String path = trimmed.substring(0, trimmed.length() - 1);
+                validate(pattern, path);
+                root.add(path, 0).prefix = true;
+            } else {
+                validate(pattern, trimmed);
+                root.add(trimmed, 0).exact = true;
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Validates that the pattern does not contain other wildcards.
+     *
+     * @param pattern the pattern
+     * @param path    the pattern path, without the trailing wildcard
+     */
+    private static void validate(String pattern, String path) {
+
+        if (path.indexOf('*') >= 0 || path.indexOf('?') >= 0) {
+            throw new IllegalArgumentException("Only the trailing wildcard is supported, invalid pattern: " + pattern);
+        }
+    }
+
+    /**
+     * The trie node.
+     */
+    private static final class Node {
+
+        /**
+         * The sorted child characters.
+         */
+        private char[] keys = new char[0];
+
+        /**
+         * The child nodes, matching the keys.
+         */
+        private Node[] children = new Node[0];
+
+        /**
+         * Whether the path ending at this node is matched.
+         */
+        private boolean exact;
+
+        /**
+         * Whether every path starting with this node is matched.
+         */
+        private boolean prefix;
+
+        /**
+         * Retrieves the child node.
+         *
+         * @param key the character
+         * @return the child or {@code null}
+         */
+        Node child(char key) {
+
+            final int index = Arrays.binarySearch(keys, key);
+            return index >= 0 ? children[index] : null;
+        }
+
+        /**
+         * Adds the path, creating the missing nodes.
+         *
+         * @param path   the path
+         * @param offset the offset within the path
+         * @return the node of the last path character
+         */
+        Node add(String path, int offset) {
+
+            if (offset == path.length()) {
+                return this;
+            }
+
+            final char key = path.charAt(offset);
+            int index = Arrays.binarySearch(keys, key);
+            if (index < 0) {
+                index = -index - 1;
+                final char[] newKeys = new char[keys.length + 1];
+                final Node[] newChildren = new Node[children.length + 1];
+                System.arraycopy(keys, 0, newKeys, 0, index);
+                System.arraycopy(children, 0, newChildren, 0, index);
+                System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+                System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+                newKeys[index] = key;
+                newChildren[index] = new Node();
+                keys = newKeys;
+                children = newChildren;
+            }
+            return children[index].add(path, offset + 1);
+        }
+    }
+}
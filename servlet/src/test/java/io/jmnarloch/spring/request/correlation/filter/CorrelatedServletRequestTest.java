@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.filter;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the {@link CorrelatedServletRequest} class.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelatedServletRequestTest {
+
+    private static final String HEADER_NAME = "X-Request-Id";
+
+    private MockHttpServletRequest request;
+
+    private CorrelatedServletRequest instance;
+
+    @Before
+    public void setUp() throws Exception {
+
+        request = new MockHttpServletRequest();
+        request.addHeader("Accept", "application/json");
+        instance = new CorrelatedServletRequest(request, HEADER_NAME, new DefaultRequestCorrelation("id"));
+    }
+
+    @Test
+    public void shouldReturnHeaderIgnoringCase() {
+
+        // expect
+        assertEquals("id", instance.getHeader(HEADER_NAME));
+        assertEquals("id", instance.getHeader("x-request-id"));
+        assertEquals("application/json", instance.getHeader("Accept"));
+        assertNull(instance.getHeader("Content-Type"));
+    }
+
+    @Test
+    public void shouldOverrideHeaderValues() {
+
+        // given
+        request.addHeader(HEADER_NAME, "upstream");
+
+        // when
+        final List<String> values = Collections.list(instance.getHeaders("X-REQUEST-ID"));
+
+        // then
+        assertEquals(Collections.singletonList("id"), values);
+        assertEquals(Collections.singletonList("application/json"), Collections.list(instance.getHeaders("Accept")));
+        assertFalse(instance.getHeaders("Content-Type").hasMoreElements());
+    }
+
+    @Test
+    public void shouldListHeaderNamesOnce() {
+
+        // given
+        request.addHeader("x-request-id", "upstream");
+
+        // when
+        final List<String> names = Collections.list(instance.getHeaderNames());
+
+        // then
+        assertEquals(2, names.size());
+        assertEquals(HEADER_NAME, names.get(0));
+        assertEquals("Accept", names.get(1));
+    }
+}
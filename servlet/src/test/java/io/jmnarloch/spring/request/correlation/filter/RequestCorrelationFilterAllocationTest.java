@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.filter;
+
+import io.jmnarloch.spring.request.correlation.AllocationMeter;
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelationInterceptor;
+import io.jmnarloch.spring.request.correlation.generator.UuidGenerator;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConsts;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import java.util.Collections;
+import java.util.UUID;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Guards the allocation of the {@link RequestCorrelationFilter} for the request with the inbound correlation id, both
+ * for the initial dispatch and for the re-dispatch of the already correlated request.
+ *
+ * @author Jakub Narloch
+ */
+public class RequestCorrelationFilterAllocationTest {
+
+    /**
+     * The allowed allocation per request: the parsed correlation, the request wrapper, the request attribute entry and
+     * the header lookup of the mock request itself.
+     */
+    private static final int BYTES_PER_REQUEST = 320;
+
+    /**
+     * The allowed allocation per re-dispatch: the reused correlation is only bound for the time of the processing.
+     */
+    private static final int BYTES_PER_REDISPATCH = 192;
+
+    private final FilterChain chain = new FilterChain() {
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) {
+        }
+    };
+
+    private RequestCorrelationFilter instance;
+
+    @Before
+    public void setUp() throws Exception {
+
+        instance = new RequestCorrelationFilter(new UuidGenerator(),
+                Collections.<RequestCorrelationInterceptor>emptyList(), new RequestCorrelationProperties());
+    }
+
+    @Test
+    public void shouldNotExceedAllocationBudget() throws Exception {
+
+        // given
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestCorrelationConsts.HEADER_NAME, UUID.randomUUID().toString());
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        final double allocated = AllocationMeter.measure(new AllocationMeter.Operation() {
+            @Override
+            public void run() throws Exception {
+                // every iteration is the initial dispatch, not the re-dispatch of the correlated request
+                request.removeAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME);
+                instance.doFilter(request, response, chain);
+            }
+        }, 10000);
+
+        // then
+        assertTrue("Allocated " + allocated + " bytes per request, the budget is " + BYTES_PER_REQUEST,
+                allocated <= BYTES_PER_REQUEST);
+    }
+
+    @Test
+    public void shouldNotExceedRedispatchAllocationBudget() throws Exception {
+
+        // given
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestCorrelationConsts.HEADER_NAME, UUID.randomUUID().toString());
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        instance.doFilter(request, response, chain);
+
+        // when
+        final double allocated = AllocationMeter.measure(new AllocationMeter.Operation() {
+            @Override
+            public void run() throws Exception {
+                instance.doFilter(request, response, chain);
+            }
+        }, 10000);
+
+        // then
+        assertTrue("Allocated " + allocated + " bytes per re-dispatch, the budget is " + BYTES_PER_REDISPATCH,
+                allocated <= BYTES_PER_REDISPATCH);
+    }
+}
@@ -0,0 +1,718 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.filter;
+
+import io.jmnarloch.spring.request.correlation.api.BinaryRequestCorrelation;
+import io.jmnarloch.spring.request.correlation.api.CorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelationInterceptor;
+import io.jmnarloch.spring.request.correlation.api.ThreadBoundCorrelationInterceptor;
+import io.jmnarloch.spring.request.correlation.generator.SnowflakeGenerator;
+import io.jmnarloch.spring.request.correlation.generator.UuidGenerator;
+import io.jmnarloch.spring.request.correlation.metrics.RequestCorrelationMetrics;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConsts;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationContextHolder;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tests the {@link RequestCorrelationFilter} class.
+ *
+ * @author Jakub Narloch
+ */
+public class RequestCorrelationFilterTest {
+
+    private RequestCorrelationFilter instance;
+
+    private CorrelationIdGenerator generator = new UuidGenerator();
+
+    private List<RequestCorrelationInterceptor> interceptors = new ArrayList<>();
+
+    private RequestCorrelationProperties properties = new RequestCorrelationProperties();
+
+    @Before
+    public void setUp() throws Exception {
+
+        instance = new RequestCorrelationFilter(generator, interceptors, properties);
+    }
+
+    @Test
+    public void shouldInitiateCorrelationId() throws IOException, ServletException {
+
+        // given
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final MockFilterChain chain = new MockFilterChain();
+
+        // when
+        instance.doFilter(request, response, chain);
+
+        // then
+        assertNotNull(request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME));
+        assertNotNull(((HttpServletRequest)chain.getRequest()).getHeader(RequestCorrelationConsts.HEADER_NAME));
+    }
+
+    @Test
+    public void shouldUseExistingCorrelationId() throws IOException, ServletException {
+
+        // given
+        final String requestId = UUID.randomUUID().toString();
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final MockFilterChain chain = new MockFilterChain();
+
+        request.addHeader(RequestCorrelationConsts.HEADER_NAME, requestId);
+
+        // when
+        instance.doFilter(request, response, chain);
+
+        // then
+        final Object requestCorrelation = request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME);
+        assertNotNull(requestCorrelation);
+        assertEquals(requestId, ((RequestCorrelation) requestCorrelation).getRequestId());
+
+        final String header = ((HttpServletRequest) chain.getRequest()).getHeader(RequestCorrelationConsts.HEADER_NAME);
+        assertNotNull(header);
+        assertEquals(requestId, header);
+    }
+
+    @Test
+    public void shouldBindCorrelationToThread() throws IOException, ServletException {
+
+        // given
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final AtomicReference<RequestCorrelation> boundCorrelation = new AtomicReference<>();
+        final FilterChain chain = new FilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                boundCorrelation.set(RequestCorrelationContextHolder.getRequestCorrelation());
+            }
+        };
+
+        // when
+        instance.doFilter(request, response, chain);
+
+        // then
+        assertSame(request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME), boundCorrelation.get());
+        assertNull(RequestCorrelationContextHolder.getRequestCorrelation());
+    }
+
+    @Test
+    public void shouldKeepUuidInBinaryForm() throws IOException, ServletException {
+
+        // given
+        final UUID requestId = UUID.randomUUID();
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final MockFilterChain chain = new MockFilterChain();
+
+        request.addHeader(RequestCorrelationConsts.HEADER_NAME, requestId.toString());
+
+        // when
+        instance.doFilter(request, response, chain);
+
+        // then
+        final BinaryRequestCorrelation requestCorrelation =
+                (BinaryRequestCorrelation) request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME);
+        assertEquals(requestId.getMostSignificantBits(), requestCorrelation.getMostSignificantBits());
+        assertEquals(requestId.getLeastSignificantBits(), requestCorrelation.getLeastSignificantBits());
+    }
+
+    @Test
+    public void shouldAcceptUuidWithCompactGenerator() throws IOException, ServletException {
+
+        // given
+        final String requestId = UUID.randomUUID().toString();
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final MockFilterChain chain = new MockFilterChain();
+
+        request.addHeader(RequestCorrelationConsts.HEADER_NAME, requestId);
+        instance = new RequestCorrelationFilter(new SnowflakeGenerator(), interceptors, properties);
+
+        // when
+        instance.doFilter(request, response, chain);
+
+        // then
+        final Object requestCorrelation = request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME);
+        assertNotNull(requestCorrelation);
+        assertEquals(requestId, ((RequestCorrelation) requestCorrelation).getRequestId());
+    }
+
+    @Test
+    public void shouldUseCustomHeader() throws IOException, ServletException {
+
+        // given
+        final String headerName = "X-TraceId";
+        final String requestId = UUID.randomUUID().toString();
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final MockFilterChain chain = new MockFilterChain();
+
+        request.addHeader(headerName, requestId);
+        properties.setHeaderName(headerName);
+
+        // when
+        instance.doFilter(request, response, chain);
+
+        // then
+        final Object requestCorrelation = request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME);
+        assertNotNull(requestCorrelation);
+        assertEquals(requestId, ((RequestCorrelation) requestCorrelation).getRequestId());
+
+        final String header = ((HttpServletRequest) chain.getRequest()).getHeader(headerName);
+        assertNotNull(header);
+        assertEquals(requestId, header);
+    }
+
+    @Test
+    public void shouldInvokeInterceptor() throws IOException, ServletException {
+
+        // given
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final MockHttpServletResponse response = new MockHttpServletResponse();
+        final MockFilterChain chain = new MockFilterChain();
+
+        final RequestCorrelationInterceptor interceptor = mock(RequestCorrelationInterceptor.class);
+        interceptors.add(interceptor);
+
+        // when
+        instance.doFilter(request, response, chain);
+
+        // then
+        final String requestId = ((HttpServletRequest) chain.getRequest()).getHeader(RequestCorrelationConsts.HEADER_NAME);
+        final RequestCorrelation correlationId = (RequestCorrelation) request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME);
+        assertNotNull(requestId);
+        assertNotNull(correlationId);
+        assertEquals(requestId, correlationId.getRequestId());
+
+        verify(interceptor).afterCorrelationIdSet(requestId);
+        verify(interceptor).cleanUp(requestId);
+    }
+
+    @Test
+    public void shouldBindCorrelationBeforeInvokingInterceptor() throws IOException, ServletException {
+
+        // given
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final AtomicReference<RequestCorrelation> boundCorrelation = new AtomicReference<>();
+        interceptors.add(new RequestCorrelationInterceptor() {
+            @Override
+            public void afterCorrelationIdSet(String correlationId) {
+                boundCorrelation.set(RequestCorrelationContextHolder.getRequestCorrelation());
+            }
+
+            @Override
+            public void cleanUp(String correlationId) {
+            }
+        });
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        assertNotNull(boundCorrelation.get());
+        assertSame(request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME), boundCorrelation.get());
+    }
+
+    @Test
+    public void shouldRecordMetrics() throws IOException, ServletException {
+
+        // given
+        final RequestCorrelationMetrics metrics = new RequestCorrelationMetrics();
+        instance = new RequestCorrelationFilter(generator, interceptors, properties, metrics);
+        final MockHttpServletRequest inbound = new MockHttpServletRequest();
+        inbound.addHeader(RequestCorrelationConsts.HEADER_NAME, "id");
+
+        // when
+        instance.doFilter(inbound, new MockHttpServletResponse(), new MockFilterChain());
+        instance.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        assertEquals(1, metrics.getInbound());
+        assertEquals(1, metrics.getGeneration().getCount());
+        assertEquals(2, metrics.getInterceptors().getCount());
+        assertEquals(2, metrics.getInterceptorsCleanup().getCount());
+    }
+
+    @Test
+    public void shouldReuseCorrelationOnRedispatch() throws IOException, ServletException {
+
+        // given
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        final RequestCorrelationInterceptor interceptor = mock(RequestCorrelationInterceptor.class);
+        interceptors.add(interceptor);
+        instance.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        final Object correlation = request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME);
+        final MockFilterChain chain = new MockFilterChain();
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // then
+        assertSame(correlation, request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME));
+        final String requestId = ((RequestCorrelation) correlation).getRequestId();
+        assertEquals(requestId, ((HttpServletRequest) chain.getRequest()).getHeader(RequestCorrelationConsts.HEADER_NAME));
+        verify(interceptor).afterCorrelationIdSet(requestId);
+        verify(interceptor).cleanUp(requestId);
+    }
+
+    @Test
+    public void shouldNotWrapRedispatchedCorrelatedRequest() throws IOException, ServletException {
+
+        // given
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestCorrelationConsts.HEADER_NAME, "id");
+        request.setAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME, new DefaultRequestCorrelation("id"));
+        final MockFilterChain chain = new MockFilterChain();
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // then
+        assertSame(request, chain.getRequest());
+    }
+
+    @Test
+    public void shouldBindThreadBoundInterceptorsOnRedispatch() throws IOException, ServletException {
+
+        // given
+        final RequestCorrelation correlation = new DefaultRequestCorrelation("id");
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME, correlation);
+        final RequestCorrelationInterceptor interceptor = mock(RequestCorrelationInterceptor.class);
+        final ThreadBoundCorrelationInterceptor threadBoundInterceptor = mock(ThreadBoundCorrelationInterceptor.class);
+        interceptors.add(interceptor);
+        interceptors.add(threadBoundInterceptor);
+        final AtomicReference<RequestCorrelation> bound = new AtomicReference<>();
+        final FilterChain chain = new FilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                bound.set(RequestCorrelationContextHolder.getRequestCorrelation());
+            }
+        };
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // then
+        assertSame(correlation, bound.get());
+        assertNull(RequestCorrelationContextHolder.getRequestCorrelation());
+        verify(interceptor, never()).afterCorrelationIdSet("id");
+        verify(threadBoundInterceptor).afterCorrelationIdSet("id");
+        verify(threadBoundInterceptor).cleanUp("id");
+    }
+
+    @Test
+    public void shouldDeferCleanupUntilAsyncCompletion() throws IOException, ServletException {
+
+        // given
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        final RequestCorrelationInterceptor interceptor = mock(RequestCorrelationInterceptor.class);
+        final ThreadBoundCorrelationInterceptor threadBoundInterceptor = mock(ThreadBoundCorrelationInterceptor.class);
+        interceptors.add(interceptor);
+        interceptors.add(threadBoundInterceptor);
+        final FilterChain chain = new FilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                request.startAsync();
+            }
+        };
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // then
+        final String requestId = ((RequestCorrelation) request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME))
+                .getRequestId();
+        verify(interceptor, never()).cleanUp(requestId);
+        verify(threadBoundInterceptor).cleanUp(requestId);
+
+        // when
+        request.getAsyncContext().complete();
+
+        // then
+        verify(interceptor).cleanUp(requestId);
+        verify(interceptor).afterCorrelationIdSet(requestId);
+    }
+
+    @Test
+    public void shouldBindCorrelationOnAsyncCompletion() throws IOException, ServletException {
+
+        // given
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        final AtomicReference<RequestCorrelation> bound = new AtomicReference<>();
+        interceptors.add(new RequestCorrelationInterceptor() {
+            @Override
+            public void afterCorrelationIdSet(String correlationId) {
+            }
+
+            @Override
+            public void cleanUp(String correlationId) {
+                bound.set(RequestCorrelationContextHolder.getRequestCorrelation());
+            }
+        });
+        final FilterChain chain = new FilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                request.startAsync();
+            }
+        };
+        instance.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // when
+        request.getAsyncContext().complete();
+
+        // then
+        assertSame(request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME), bound.get());
+        assertNull(RequestCorrelationContextHolder.getRequestCorrelation());
+    }
+
+    @Test
+    public void shouldCleanUpOnlyOnceAfterAsyncTimeout() throws IOException, ServletException {
+
+        // given
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        final RequestCorrelationInterceptor interceptor = mock(RequestCorrelationInterceptor.class);
+        interceptors.add(interceptor);
+        final FilterChain chain = new FilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                request.startAsync();
+            }
+        };
+        instance.doFilter(request, new MockHttpServletResponse(), chain);
+        final String requestId = ((RequestCorrelation) request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME))
+                .getRequestId();
+
+        // when
+        for (AsyncListener listener : ((MockAsyncContext) request.getAsyncContext()).getListeners()) {
+            listener.onTimeout(new AsyncEvent(request.getAsyncContext()));
+        }
+        request.getAsyncContext().complete();
+
+        // then
+        verify(interceptor, times(1)).cleanUp(requestId);
+    }
+
+    @Test
+    public void shouldPassThroughExcludedPath() throws IOException, ServletException {
+
+        // given
+        properties.setExcludePatterns(Collections.singletonList("/health"));
+        instance = new RequestCorrelationFilter(generator, interceptors, properties);
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/health");
+        request.setContextPath("/app");
+        request.setServletPath("/health");
+        final MockFilterChain chain = new MockFilterChain();
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // then
+        assertSame(request, chain.getRequest());
+        assertNull(request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME));
+    }
+
+    @Test
+    public void shouldPassThroughExcludedPathWithPathParameters() throws IOException, ServletException {
+
+        // given
+        properties.setExcludePatterns(Collections.singletonList("/health"));
+        instance = new RequestCorrelationFilter(generator, interceptors, properties);
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/health;jsessionid=1");
+        request.setContextPath("/app");
+        request.setServletPath("/health");
+        final MockFilterChain chain = new MockFilterChain();
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // then
+        assertSame(request, chain.getRequest());
+        assertNull(request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME));
+    }
+
+    @Test
+    public void shouldPassThroughPercentEncodedExcludedPath() throws IOException, ServletException {
+
+        // given
+        properties.setExcludePatterns(Collections.singletonList("/health"));
+        instance = new RequestCorrelationFilter(generator, interceptors, properties);
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/%68ealth");
+        request.setContextPath("/app");
+        request.setServletPath("/health");
+        final MockFilterChain chain = new MockFilterChain();
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // then
+        assertSame(request, chain.getRequest());
+        assertNull(request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME));
+    }
+
+    @Test
+    public void shouldCorrelatePercentEncodedIncludedPath() throws IOException, ServletException {
+
+        // given
+        properties.setIncludePatterns(Collections.singletonList("/api/**"));
+        instance = new RequestCorrelationFilter(generator, interceptors, properties);
+        final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/ap%69/orders;v=1");
+        request.setContextPath("/app");
+        request.setServletPath("/api");
+        request.setPathInfo("/orders");
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        assertNotNull(request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME));
+    }
+
+    @Test
+    public void shouldAcceptFirstInboundHeader() throws IOException, ServletException {
+
+        // given
+        properties.setInboundHeaderNames(Arrays.asList("X-Request-Id", "X-Correlation-Id", "traceparent"));
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("X-Correlation-Id", "correlation");
+        request.addHeader("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+        final MockFilterChain chain = new MockFilterChain();
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // then
+        assertEquals("correlation", ((HttpServletRequest) chain.getRequest()).getHeader(RequestCorrelationConsts.HEADER_NAME));
+    }
+
+    @Test
+    public void shouldAcceptTraceparentTraceId() throws IOException, ServletException {
+
+        // given
+        properties.setInboundHeaderNames(Arrays.asList("X-Request-Id", "traceparent"));
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("traceparent", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01");
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        final RequestCorrelation correlation = (RequestCorrelation) request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME);
+        assertEquals("4bf92f35-77b3-4da6-a3ce-929d0e0e4736", correlation.getRequestId());
+    }
+
+    @Test
+    public void shouldGenerateForInvalidTraceparent() throws IOException, ServletException {
+
+        // given
+        properties.setInboundHeaderNames(Collections.singletonList("traceparent"));
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("traceparent", "00-00000000000000000000000000000000-00f067aa0ba902b7-01");
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        final RequestCorrelation correlation = (RequestCorrelation) request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME);
+        assertNotNull(UUID.fromString(correlation.getRequestId()));
+    }
+
+    @Test
+    public void shouldRegenerateInvalidCorrelationId() throws IOException, ServletException {
+
+        // given
+        final RequestCorrelationMetrics metrics = new RequestCorrelationMetrics();
+        properties.getValidation().setEnabled(true);
+        instance = new RequestCorrelationFilter(generator, interceptors, properties, metrics);
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestCorrelationConsts.HEADER_NAME, "id\r\nX-Injected: true");
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        final RequestCorrelation correlation = (RequestCorrelation) request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME);
+        assertNotNull(UUID.fromString(correlation.getRequestId()));
+        assertEquals(1L, metrics.getRejected());
+        assertEquals(0L, metrics.getInbound());
+    }
+
+    @Test
+    public void shouldRegenerateTooLongCorrelationId() throws IOException, ServletException {
+
+        // given
+        properties.getValidation().setEnabled(true);
+        properties.getValidation().setMaxLength(8);
+        instance = new RequestCorrelationFilter(generator, interceptors, properties);
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestCorrelationConsts.HEADER_NAME, UUID.randomUUID().toString());
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        final RequestCorrelation correlation = (RequestCorrelation) request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME);
+        assertNotEquals(request.getHeader(RequestCorrelationConsts.HEADER_NAME), correlation.getRequestId());
+    }
+
+    @Test
+    public void shouldTruncateInvalidCorrelationId() throws IOException, ServletException {
+
+        // given
+        final RequestCorrelationMetrics metrics = new RequestCorrelationMetrics();
+        properties.getValidation().setEnabled(true);
+        properties.getValidation().setMaxLength(8);
+        properties.getValidation().setPolicy(RequestCorrelationProperties.Validation.Policy.TRUNCATE);
+        instance = new RequestCorrelationFilter(generator, interceptors, properties, metrics);
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestCorrelationConsts.HEADER_NAME, "0123456789abcdef");
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        final RequestCorrelation correlation = (RequestCorrelation) request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME);
+        assertEquals("01234567", correlation.getRequestId());
+        assertEquals(1L, metrics.getRejected());
+    }
+
+    @Test
+    public void shouldAcceptAnyCorrelationIdByDefault() throws IOException, ServletException {
+
+        // given
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestCorrelationConsts.HEADER_NAME, "custom id");
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        final RequestCorrelation correlation = (RequestCorrelation) request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME);
+        assertEquals("custom id", correlation.getRequestId());
+    }
+
+    @Test
+    public void shouldNormalizeBase64CorrelationId() throws IOException, ServletException {
+
+        // given
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestCorrelationConsts.HEADER_NAME, "S_kvNXezTaajzpKdDg5HNg");
+        final MockFilterChain chain = new MockFilterChain();
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // then
+        assertEquals("4bf92f35-77b3-4da6-a3ce-929d0e0e4736",
+                ((HttpServletRequest) chain.getRequest()).getHeader(RequestCorrelationConsts.HEADER_NAME));
+        assertTrue(request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME) instanceof BinaryRequestCorrelation);
+    }
+
+    @Test
+    public void shouldNotDecodeBase64CorrelationIdWhenDisabled() throws IOException, ServletException {
+
+        // given
+        properties.setInboundBase64(false);
+        instance = new RequestCorrelationFilter(generator, interceptors, properties);
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestCorrelationConsts.HEADER_NAME, "S_kvNXezTaajzpKdDg5HNg");
+        final MockFilterChain chain = new MockFilterChain();
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), chain);
+
+        // then
+        assertEquals("S_kvNXezTaajzpKdDg5HNg",
+                ((HttpServletRequest) chain.getRequest()).getHeader(RequestCorrelationConsts.HEADER_NAME));
+        assertFalse(request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME) instanceof BinaryRequestCorrelation);
+    }
+
+    @Test
+    public void shouldValidateDecodedBase64CorrelationIdByText() throws IOException, ServletException {
+
+        // given
+        properties.getValidation().setEnabled(true);
+        properties.getValidation().setAllowedCharacters("-");
+        instance = new RequestCorrelationFilter(generator, interceptors, properties);
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestCorrelationConsts.HEADER_NAME, "S_kvNXezTaajzpKdDg5HNg");
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        final RequestCorrelation correlation = (RequestCorrelation) request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME);
+        assertNotEquals("4bf92f35-77b3-4da6-a3ce-929d0e0e4736", correlation.getRequestId());
+        assertNotEquals("S_kvNXezTaajzpKdDg5HNg", correlation.getRequestId());
+    }
+
+    @Test
+    public void shouldKeepValidDecodedBase64CorrelationIdBinary() throws IOException, ServletException {
+
+        // given
+        properties.getValidation().setEnabled(true);
+        properties.getValidation().setAllowedCharacters("_");
+        instance = new RequestCorrelationFilter(generator, interceptors, properties);
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(RequestCorrelationConsts.HEADER_NAME, "S_kvNXezTaajzpKdDg5HNg");
+
+        // when
+        instance.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        // then
+        final RequestCorrelation correlation = (RequestCorrelation) request.getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME);
+        assertEquals("4bf92f35-77b3-4da6-a3ce-929d0e0e4736", correlation.getRequestId());
+        assertTrue(correlation instanceof BinaryRequestCorrelation);
+    }
+}
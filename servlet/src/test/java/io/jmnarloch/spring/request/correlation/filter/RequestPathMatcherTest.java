@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.filter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link RequestPathMatcher} class.
+ *
+ * @author Jakub Narloch
+ */
+public class RequestPathMatcherTest {
+
+    private final RequestPathMatcher instance = new RequestPathMatcher(Collections.<String>emptyList(),
+            Arrays.asList("/health", "/static/**", "/favicon*"));
+
+    @Test
+    public void shouldExcludeExactPath() {
+
+        // expect
+        assertFalse(instance.isCorrelated("/health", 0));
+        assertTrue(instance.isCorrelated("/healthy", 0));
+        assertTrue(instance.isCorrelated("/health/details", 0));
+        assertTrue(instance.isCorrelated("/heal", 0));
+    }
+
+    @Test
+    public void shouldExcludePathPrefix() {
+
+        // expect
+        assertFalse(instance.isCorrelated("/static", 0));
+        assertFalse(instance.isCorrelated("/static/", 0));
+        assertFalse(instance.isCorrelated("/static/js/app.js", 0));
+        assertTrue(instance.isCorrelated("/statics", 0));
+        assertFalse(instance.isCorrelated("/favicon.ico", 0));
+    }
+
+    @Test
+    public void shouldMatchPathWithinContext() {
+
+        // expect
+        assertFalse(instance.isCorrelated("/app/health", "/app".length()));
+        assertTrue(instance.isCorrelated("/app/api", "/app".length()));
+    }
+
+    @Test
+    public void shouldCorrelateOnlyIncludedPaths() {
+
+        // given
+        final RequestPathMatcher matcher = new RequestPathMatcher(Collections.singletonList("/api/**"),
+                Collections.singletonList("/api/internal/**"));
+
+        // expect
+        assertTrue(matcher.isCorrelated("/api/orders", 0));
+        assertFalse(matcher.isCorrelated("/api/internal/ping", 0));
+        assertFalse(matcher.isCorrelated("/health", 0));
+    }
+
+    @Test
+    public void shouldCorrelateAllPathsWithoutPatterns() {
+
+        // given
+        final RequestPathMatcher matcher = new RequestPathMatcher(Collections.<String>emptyList(),
+                Collections.<String>emptyList());
+
+        // expect
+        assertTrue(matcher.isCorrelated("/", 0));
+        assertTrue(matcher.isCorrelated("", 0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInnerWildcard() {
+
+        // when
+        new RequestPathMatcher(Collections.<String>emptyList(), Collections.singletonList("/api/*/health"));
+    }
+}
@@ -0,0 +1,57 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.support;
+
+import io.jmnarloch.spring.request.correlation.api.EnableRequestCorrelation;
+import io.jmnarloch.spring.request.correlation.filter.RequestCorrelationFilterConfiguration;
+import org.junit.Test;
+import org.springframework.core.type.StandardAnnotationMetadata;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link RequestCorrelationImportSelector} class.
+ *
+ * @author Jakub Narloch
+ */
+public class RequestCorrelationImportSelectorTest {
+
+    private final RequestCorrelationImportSelector instance = new RequestCorrelationImportSelector();
+
+    @Test
+    public void shouldImportModuleConfiguration() {
+
+        // given
+        instance.setBeanClassLoader(getClass().getClassLoader());
+
+        // when
+        final List<String> imports = Arrays.asList(
+                instance.selectImports(new StandardAnnotationMetadata(Application.class)));
+
+        // then
+        assertTrue(imports.contains(RequestCorrelationFilterConfiguration.class.getName()));
+        assertEquals(1, imports.size());
+    }
+
+    @EnableRequestCorrelation
+    private static class Application {
+
+    }
+}
@@ -15,11 +15,12 @@
  */
 package io.jmnarloch.spring.request.correlation.api;
 
-import io.jmnarloch.spring.request.correlation.http.ClientHttpCorrelationConfiguration;
-import io.jmnarloch.spring.request.correlation.feign.FeignCorrelationConfiguration;
+import io.jmnarloch.spring.request.correlation.async.AsyncCorrelationConfiguration;
+import io.jmnarloch.spring.request.correlation.logging.MdcCorrelationConfiguration;
+import io.jmnarloch.spring.request.correlation.metrics.MetricsCorrelationConfiguration;
 import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConfiguration;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationImportSelector;
 import org.springframework.context.annotation.Import;
-import org.springframework.web.client.RestTemplate;
 
 import java.lang.annotation.*;
 
@@ -29,7 +30,11 @@ import java.lang.annotation.*;
  *
  * By default the identifier will be generated using random {@code UUID}.
  *
- * The header will be automatically propagated through any Spring configured {@link RestTemplate} bean or Feign client.
+ * The header will be automatically propagated through any Spring configured {@code RestTemplate} bean or Feign client.
+ * The correlation is also propagated to the tasks executed by any Spring configured executor.
+ *
+ * The servlet filter and the client integrations are imported from the modules present on the classpath, through
+ * the {@link RequestCorrelationImportSelector}.
  *
  * @author Jakub Narloch
  * @see RequestCorrelation
@@ -42,8 +47,10 @@ import java.lang.annotation.*;
 @Target(ElementType.TYPE)
 @Import({
         RequestCorrelationConfiguration.class,
-        ClientHttpCorrelationConfiguration.class,
-        FeignCorrelationConfiguration.class
+        AsyncCorrelationConfiguration.class,
+        MdcCorrelationConfiguration.class,
+        MetricsCorrelationConfiguration.class,
+        RequestCorrelationImportSelector.class
 })
 public @interface EnableRequestCorrelation {
 
@@ -0,0 +1,35 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.async;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Propagates the request correlation to the tasks executed by any Spring configured {@link java.util.concurrent.Executor}.
+ *
+ * @author Jakub Narloch
+ */
+@Configuration
+@ConditionalOnProperty(value = "request.correlation.async.enabled", matchIfMissing = true)
+public class AsyncCorrelationConfiguration {
+
+    @Bean
+    public static CorrelatingExecutorBeanPostProcessor correlatingExecutorBeanPostProcessor() {
+        return new CorrelatingExecutorBeanPostProcessor();
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.async;
+
+import io.jmnarloch.spring.request.correlation.api.ThreadBoundCorrelationInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+/**
+ * Decorates every {@link Executor} bean, including the Spring's {@link org.springframework.core.task.TaskExecutor}
+ * implementations used by {@code @Async}, so that the submitted tasks are executed with the request correlation of
+ * the submitting thread.
+ *
+ * The executors are proxied by subclassing, so that they can still be injected by their concrete type. The executors
+ * that can not be subclassed, like the final classes or the non public JDK classes returned by
+ * {@link java.util.concurrent.Executors#newSingleThreadExecutor()}, are left unchanged and have to be wrapped
+ * explicitly with {@link CorrelatingExecutorService}. The
+ * {@link ThreadBoundCorrelationInterceptor} beans are resolved on the first task submission and triggered on the
+ * executing thread.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelatingExecutorBeanPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    /**
+     * The executor method interceptor.
+     */
+    private final CorrelatingExecutorMethodInterceptor interceptor = new CorrelatingExecutorMethodInterceptor(this);
+
+    /**
+     * The bean factory.
+     */
+    private BeanFactory beanFactory;
+
+    /**
+     * The lazily created task decorator.
+     */
+    private volatile CorrelationTaskDecorator taskDecorator;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = beanFactory;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+        return bean;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+
+        if (!(bean instanceof Executor) || bean instanceof CorrelatingExecutorService || AopUtils.isAopProxy(bean)) {
+            return bean;
+        }
+
+        if (!isSubclassable(bean.getClass())) {
+            return bean;
+        }
+
+        final ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(ClassUtils.getDefaultClassLoader());
+    }
+
+    /**
+     * Returns whether the class can be proxied by subclassing. The final classes can not be extended and the non public
+     * JDK classes can not be extended outside of their package.
+     *
+     * @param beanClass the bean class
+     * @return true if the class can be subclassed
+     */
+    private static boolean isSubclassable(Class<?> beanClass) {
+        final int modifiers = beanClass.getModifiers();
+        return !Modifier.isFinal(modifiers) && (Modifier.isPublic(modifiers) || !beanClass.getName().startsWith("java."));
+    }
+
+    /**
+     * Retrieves the task decorator, resolving the thread bound interceptors on the first call.
+     *
+     * @return the task decorator
+     */
+    CorrelationTaskDecorator getTaskDecorator() {
+
+        CorrelationTaskDecorator decorator = taskDecorator;
+        if (decorator == null) {
+            decorator = new CorrelationTaskDecorator(getThreadBoundInterceptors());
+            taskDecorator = decorator;
+        }
+        return decorator;
+    }
+
+    /**
+     * Retrieves the thread bound interceptors registered in the bean factory.
+     *
+     * @return the thread bound interceptors
+     */
+    private List<ThreadBoundCorrelationInterceptor> getThreadBoundInterceptors() {
+
+        if (!(beanFactory instanceof ListableBeanFactory)) {
+            return Collections.emptyList();
+        }
+        return new ArrayList<>(((ListableBeanFactory) beanFactory)
+                .getBeansOfType(ThreadBoundCorrelationInterceptor.class).values());
+    }
+}
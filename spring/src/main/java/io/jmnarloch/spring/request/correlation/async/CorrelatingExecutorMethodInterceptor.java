@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.async;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Callable;
+
+/**
+ * Decorates the {@link Runnable} and {@link Callable} arguments of the task submitting methods invoked on the proxied
+ * executor, so that the tasks are executed with the request correlation of the submitting thread. The arguments of
+ * any other method, like {@link java.util.concurrent.ThreadPoolExecutor#remove(Runnable)}, are passed unchanged.
+ *
+ * @author Jakub Narloch
+ */
+class CorrelatingExecutorMethodInterceptor implements MethodInterceptor {
+
+    /**
+     * The names of the methods submitting the tasks, of both the JDK and the Spring executors and schedulers.
+     */
+    private static final Set<String> SUBMITTING_METHODS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "execute", "submit", "submitListenable", "schedule", "scheduleAtFixedRate", "scheduleWithFixedDelay",
+            "invokeAll", "invokeAny")));
+
+    /**
+     * The bean post processor providing the task decorator.
+     */
+    private final CorrelatingExecutorBeanPostProcessor postProcessor;
+
+    /**
+     * Creates new instance of {@link CorrelatingExecutorMethodInterceptor} class.
+     *
+     * @param postProcessor the bean post processor providing the task decorator
+     */
+    CorrelatingExecutorMethodInterceptor(CorrelatingExecutorBeanPostProcessor postProcessor) {
+        this.postProcessor = postProcessor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+
+        if (!SUBMITTING_METHODS.contains(invocation.getMethod().getName())) {
+            return invocation.proceed();
+        }
+
+        final CorrelationTaskDecorator decorator = postProcessor.getTaskDecorator();
+        final Object[] arguments = invocation.getArguments();
+        for (int ind = 0; ind < arguments.length; ind++) {
+            final Object argument = arguments[ind];
+            if (argument instanceof Runnable) {
+                arguments[ind] = decorator.decorate((Runnable) argument);
+            } else if (argument instanceof Callable) {
+                arguments[ind] = decorator.decorate((Callable<Object>) argument);
+            } else if (argument instanceof Collection && isTaskCollection(invocation)) {
+                arguments[ind] = decorator.decorateAll((Collection<? extends Callable<Object>>) argument);
+            }
+        }
+        return invocation.proceed();
+    }
+
+    /**
+     * Returns whether the invoked method accepts collection of tasks, like
+     * {@link java.util.concurrent.ExecutorService#invokeAll(Collection)}.
+     *
+     * @param invocation the method invocation
+     * @return whether the method accepts collection of tasks
+     */
+    private static boolean isTaskCollection(MethodInvocation invocation) {
+
+        final String name = invocation.getMethod().getName();
+        return "invokeAll".equals(name) || "invokeAny".equals(name);
+    }
+}
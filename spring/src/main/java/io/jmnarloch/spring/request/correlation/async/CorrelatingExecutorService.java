@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.async;
+
+import org.springframework.util.Assert;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * An {@link ExecutorService} decorator that propagates the request correlation of the submitting thread to the
+ * executed tasks.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelatingExecutorService implements ExecutorService {
+
+    /**
+     * The decorated executor.
+     */
+    private final ExecutorService delegate;
+
+    /**
+     * The task decorator.
+     */
+    protected final CorrelationTaskDecorator decorator;
+
+    /**
+     * Creates new instance of {@link CorrelatingExecutorService} class.
+     *
+     * @param delegate the decorated executor
+     * @throws IllegalArgumentException if {@code delegate} is {@code null}
+     */
+    public CorrelatingExecutorService(ExecutorService delegate) {
+        this(delegate, new CorrelationTaskDecorator());
+    }
+
+    /**
+     * Creates new instance of {@link CorrelatingExecutorService} class.
+     *
+     * @param delegate  the decorated executor
+     * @param decorator the task decorator
+     * @throws IllegalArgumentException if {@code delegate} is {@code null}
+     *                                  or {@code decorator} is {@code null}
+     */
+    public CorrelatingExecutorService(ExecutorService delegate, CorrelationTaskDecorator decorator) {
+        Assert.notNull(delegate, "Parameter 'delegate' can not be null");
+        Assert.notNull(decorator, "Parameter 'decorator' can not be null");
+
+        this.delegate = delegate;
+        this.decorator = decorator;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(decorator.decorate(command));
+    }
+
+    @Override
+    public <T> Future<T> submit(Callable<T> task) {
+        return delegate.submit(decorator.decorate(task));
+    }
+
+    @Override
+    public <T> Future<T> submit(Runnable task, T result) {
+        return delegate.submit(decorator.decorate(task), result);
+    }
+
+    @Override
+    public Future<?> submit(Runnable task) {
+        return delegate.submit(decorator.decorate(task));
+    }
+
+    @Override
+    public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+        return delegate.invokeAll(decorator.decorateAll(tasks));
+    }
+
+    @Override
+    public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+            throws InterruptedException {
+        return delegate.invokeAll(decorator.decorateAll(tasks), timeout, unit);
+    }
+
+    @Override
+    public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+        return delegate.invokeAny(decorator.decorateAll(tasks));
+    }
+
+    @Override
+    public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return delegate.invokeAny(decorator.decorateAll(tasks), timeout, unit);
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
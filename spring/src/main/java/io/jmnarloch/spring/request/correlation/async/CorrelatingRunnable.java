@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.async;
+
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+import io.jmnarloch.spring.request.correlation.api.ThreadBoundCorrelationInterceptor;
+
+import java.util.concurrent.Executors;
+
+/**
+ * A {@link Runnable} that binds the request correlation captured at the time of its creation to the thread that
+ * executes it.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelatingRunnable implements Runnable {
+
+    /**
+     * The decorator used by {@link #wrap(Runnable)}.
+     */
+    private static final CorrelationTaskDecorator DECORATOR = new CorrelationTaskDecorator();
+
+    /**
+     * The decorated task.
+     */
+    private final Runnable delegate;
+
+    /**
+     * The captured correlation.
+     */
+    private final RequestCorrelation correlation;
+
+    /**
+     * The thread bound interceptors.
+     */
+    private final ThreadBoundCorrelationInterceptor[] interceptors;
+
+    /**
+     * Creates new instance of {@link CorrelatingRunnable} class.
+     *
+     * @param delegate     the decorated task
+     * @param correlation  the correlation
+     * @param interceptors the thread bound interceptors
+     */
+    CorrelatingRunnable(Runnable delegate, RequestCorrelation correlation,
+                        ThreadBoundCorrelationInterceptor[] interceptors) {
+        this.delegate = delegate;
+        this.correlation = correlation;
+        this.interceptors = interceptors;
+    }
+
+    /**
+     * Decorates the task with the current request correlation. The task is returned as is if there is no correlation
+     * bound to the current thread.
+     *
+     * @param task the task
+     * @return the decorated task
+     */
+    public static Runnable wrap(Runnable task) {
+
+        return DECORATOR.decorate(task);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void run() {
+
+        try {
+            CorrelationTaskDecorator.call(correlation, interceptors, Executors.callable(delegate));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            // the runnable does not throw the checked exceptions
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.async;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link ScheduledExecutorService} decorator that propagates the request correlation of the submitting thread to
+ * the executed tasks.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelatingScheduledExecutorService extends CorrelatingExecutorService
+        implements ScheduledExecutorService {
+
+    /**
+     * The decorated executor.
+     */
+    private final ScheduledExecutorService delegate;
+
+    /**
+     * Creates new instance of {@link CorrelatingScheduledExecutorService} class.
+     *
+     * @param delegate the decorated executor
+     * @throws IllegalArgumentException if {@code delegate} is {@code null}
+     */
+    public CorrelatingScheduledExecutorService(ScheduledExecutorService delegate) {
+        this(delegate, new CorrelationTaskDecorator());
+    }
+
+    /**
+     * Creates new instance of {@link CorrelatingScheduledExecutorService} class.
+     *
+     * @param delegate  the decorated executor
+     * @param decorator the task decorator
+     * @throws IllegalArgumentException if {@code delegate} is {@code null}
+     *                                  or {@code decorator} is {@code null}
+     */
+    public CorrelatingScheduledExecutorService(ScheduledExecutorService delegate,
+                                               CorrelationTaskDecorator decorator) {
+        super(delegate, decorator);
+        this.delegate = delegate;
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return delegate.schedule(decorator.decorate(command), delay, unit);
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return delegate.schedule(decorator.decorate(callable), delay, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        return delegate.scheduleAtFixedRate(decorator.decorate(command), initialDelay, period, unit);
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        return delegate.scheduleWithFixedDelay(decorator.decorate(command), initialDelay, delay, unit);
+    }
+}
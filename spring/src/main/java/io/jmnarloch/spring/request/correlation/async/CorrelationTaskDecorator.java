@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.async;
+
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+import io.jmnarloch.spring.request.correlation.api.ThreadBoundCorrelationInterceptor;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationContextHolder;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Decorates the tasks with the request correlation of the submitting thread. When executed the task binds the
+ * correlation to the executing thread and triggers the {@link ThreadBoundCorrelationInterceptor}s, so that for
+ * instance the logging MDC is populated as well.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelationTaskDecorator {
+
+    /**
+     * The thread bound interceptors.
+     */
+    private final ThreadBoundCorrelationInterceptor[] interceptors;
+
+    /**
+     * Creates new instance of {@link CorrelationTaskDecorator} class without any interceptors.
+     */
+    public CorrelationTaskDecorator() {
+        this(Collections.<ThreadBoundCorrelationInterceptor>emptyList());
+    }
+
+    /**
+     * Creates new instance of {@link CorrelationTaskDecorator} class.
+     *
+     * @param interceptors the thread bound interceptors
+     * @throws IllegalArgumentException if {@code interceptors} is {@code null}
+     */
+    public CorrelationTaskDecorator(List<? extends ThreadBoundCorrelationInterceptor> interceptors) {
+        if (interceptors == null) {
+            throw new IllegalArgumentException("Parameter 'interceptors' can not be null.");
+        }
+
+        this.interceptors = interceptors.toArray(new ThreadBoundCorrelationInterceptor[interceptors.size()]);
+    }
+
+    /**
+     * Decorates the task with the current request correlation. The task is returned as is if there is no correlation
+     * bound to the current thread.
+     *
+     * @param task the task
+     * @return the decorated task
+     */
+    public Runnable decorate(Runnable task) {
+
+        final RequestCorrelation correlation = RequestCorrelationUtils.getCurrentCorrelation();
+        if (correlation == null || task == null || task instanceof CorrelatingRunnable) {
+            return task;
+        }
+        return new CorrelatingRunnable(task, correlation, interceptors);
+    }
+
+    /**
+     * Decorates the task with the current request correlation. The task is returned as is if there is no correlation
+     * bound to the current thread.
+     *
+     * @param task the task
+     * @param <V>  the result type
+     * @return the decorated task
+     */
+    public <V> Callable<V> decorate(Callable<V> task) {
+
+        final RequestCorrelation correlation = RequestCorrelationUtils.getCurrentCorrelation();
+        if (correlation == null || task == null || task instanceof CorrelatingCallable) {
+            return task;
+        }
+        return new CorrelatingCallable<>(task, correlation, interceptors);
+    }
+
+    /**
+     * Decorates the tasks with the current request correlation.
+     *
+     * @param tasks the tasks
+     * @param <V>   the result type
+     * @return the decorated tasks
+     */
+    public <V> Collection<? extends Callable<V>> decorateAll(Collection<? extends Callable<V>> tasks) {
+
+        final RequestCorrelation correlation = RequestCorrelationUtils.getCurrentCorrelation();
+        if (correlation == null || tasks == null) {
+            return tasks;
+        }
+
+        final List<Callable<V>> result = new ArrayList<>(tasks.size());
+        for (Callable<V> task : tasks) {
+            result.add(task instanceof CorrelatingCallable ? task
+                    : new CorrelatingCallable<V>(task, correlation, interceptors));
+        }
+        return result;
+    }
+
+    /**
+     * Calls the task with the correlation bound to the current thread, triggering the thread bound interceptors.
+     *
+     * @param correlation  the correlation
+     * @param interceptors the thread bound interceptors
+     * @param task         the task
+     * @param <V>          the result type
+     * @return the task result
+     * @throws Exception if the task fails
+     */
+    static <V> V call(final RequestCorrelation correlation, final ThreadBoundCorrelationInterceptor[] interceptors,
+                      final Callable<V> task) throws Exception {
+
+        return RequestCorrelationContextHolder.callWithCorrelation(correlation, new Callable<V>() {
+            @Override
+            public V call() throws Exception {
+                for (ThreadBoundCorrelationInterceptor interceptor : interceptors) {
+                    interceptor.afterCorrelationIdSet(correlation.getRequestId());
+                }
+                try {
+                    return task.call();
+                } finally {
+                    for (int ind = interceptors.length - 1; ind >= 0; ind--) {
+                        interceptors[ind].cleanUp(correlation.getRequestId());
+                    }
+                }
+            }
+        });
+    }
+}
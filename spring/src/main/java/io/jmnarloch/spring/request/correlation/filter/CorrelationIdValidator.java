@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.filter;
+
+import io.jmnarloch.spring.request.correlation.generator.UuidCodec;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties.Validation.Policy;
+import org.springframework.util.Assert;
+
+/**
+ * Validates the inbound correlation ids against the maximum length and the allowed characters, in a single pass over
+ * the value. The valid ids are returned as is. The invalid ones are either discarded or truncated to their longest
+ * valid prefix, depending on the {@link Policy}.
+ *
+ * @author Jakub Narloch
+ */
+public final class CorrelationIdValidator {
+
+    /**
+     * The size of the ASCII characters table.
+     */
+    private static final int ASCII = 128;
+
+    /**
+     * The allowed ASCII characters.
+     */
+    private final boolean[] allowed = new boolean[ASCII];
+
+    /**
+     * The maximum length.
+     */
+    private final int maxLength;
+
+    /**
+     * Whether the invalid ids are truncated.
+     */
+    private final boolean truncate;
+
+    /**
+     * Whether any canonical UUID is valid.
+     */
+    private final boolean uuidAllowed;
+
+    /**
+     * Creates new instance of {@link CorrelationIdValidator} class.
+     *
+     * @param maxLength         the maximum length
+     * @param allowedCharacters the allowed characters besides the ASCII letters and digits
+     * @param policy            the policy applied to the invalid ids
+     * @throws IllegalArgumentException if {@code maxLength} is not positive
+     *                                  or {@code allowedCharacters} is {@code null}
+     *                                  or {@code policy} is {@code null}
+     */
+    public CorrelationIdValidator(int maxLength, String allowedCharacters, Policy policy) {
+        Assert.isTrue(maxLength > 0, "Parameter 'maxLength' must be positive");
+        Assert.notNull(allowedCharacters, "Parameter 'allowedCharacters' can not be null");
+        Assert.notNull(policy, "Parameter 'policy' can not be null");
+
+        for (char c = '0'; c <= '9'; c++) {
+            allowed[c] = true;
+        }
+        for (char c = 'a'; c <= 'z'; c++) {
+            allowed[c] = true;
+            allowed[Character.toUpperCase(c)] = true;
+        }
+        for (int ind = 0; ind < allowedCharacters.length(); ind++) {
+            final char c = allowedCharacters.charAt(ind);
+            Assert.isTrue(c < ASCII, "Only the ASCII characters can be allowed");
+            allowed[c] = true;
+        }
+        this.maxLength = maxLength;
+        this.truncate = policy == Policy.TRUNCATE;
+        this.uuidAllowed = maxLength >= UuidCodec.UUID_LENGTH && allowed['-'];
+    }
+
+    /**
+     * Validates the correlation id.
+     *
+     * @param correlationId the correlation id
+     * @return the correlation id if valid, its truncated form or {@code null} if it should be regenerated
+     */
+    public String validate(String correlationId) {
+
+        final int length = Math.min(correlationId.length(), maxLength);
+        int end = 0;
+        while (end < length) {
+            final char c = correlationId.charAt(end);
+            if (c >= ASCII || !allowed[c]) {
+                break;
+            }
+            end++;
+        }
+
+        if (end == correlationId.length()) {
+            return correlationId;
+        }
+        return truncate && end > 0 ? correlationId.substring(0, end) : null;
+    }
+
+    /**
+     * Returns whether any canonical UUID is valid, so that the validation of the UUID ids can be skipped.
+     *
+     * @return whether the UUIDs are valid
+     */
+    public boolean isUuidAllowed() {
+        return uuidAllowed;
+    }
+}
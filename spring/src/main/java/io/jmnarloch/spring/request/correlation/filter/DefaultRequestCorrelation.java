@@ -47,4 +47,12 @@ public final class DefaultRequestCorrelation implements RequestCorrelation {
     public String getRequestId() {
         return id;
     }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return id;
+    }
 }
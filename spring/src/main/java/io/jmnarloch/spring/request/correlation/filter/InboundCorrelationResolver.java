@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.filter;
+
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+import io.jmnarloch.spring.request.correlation.generator.TraceparentParser;
+import io.jmnarloch.spring.request.correlation.generator.UuidRequestCorrelation;
+import io.jmnarloch.spring.request.correlation.metrics.RequestCorrelationMetrics;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Resolves the request correlation out of the inbound header value, independently of the web stack. The W3C
+ * {@code traceparent} header is parsed for its trace id, the UUID correlation ids are kept in their binary form, the
+ * base64url encoded ones are normalized to the canonical UUID text form, so that the services using either of the
+ * encodings log the same id, and every value is validated by its received text if the validation is enabled.
+ *
+ * @author Jakub Narloch
+ */
+public final class InboundCorrelationResolver {
+
+    /**
+     * Logger instance used by this class.
+     */
+    private final Logger logger = LoggerFactory.getLogger(InboundCorrelationResolver.class);
+
+    /**
+     * The inbound correlation id validator, {@code null} if disabled.
+     */
+    private final CorrelationIdValidator validator;
+
+    /**
+     * Whether the base64url encoded correlation ids are decoded.
+     */
+    private final boolean base64;
+
+    /**
+     * The optional metrics, {@code null} if disabled.
+     */
+    private final RequestCorrelationMetrics metrics;
+
+    /**
+     * Creates new instance of {@link InboundCorrelationResolver} class.
+     *
+     * @param properties the request properties
+     * @param metrics    the metrics or {@code null} if disabled
+     * @throws IllegalArgumentException if {@code properties} is {@code null}
+     */
+    public InboundCorrelationResolver(RequestCorrelationProperties properties, RequestCorrelationMetrics metrics) {
+        Assert.notNull(properties, "Parameter 'properties' can not be null");
+
+        final RequestCorrelationProperties.Validation validation = properties.getValidation();
+        this.validator = validation.isEnabled() ? new CorrelationIdValidator(validation.getMaxLength(),
+                validation.getAllowedCharacters(), validation.getPolicy()) : null;
+        this.base64 = properties.isInboundBase64();
+        this.metrics = metrics;
+    }
+
+    /**
+     * Resolves the correlation out of the single header value.
+     *
+     * @param headerName    the header name
+     * @param correlationId the header value or {@code null}
+     * @return the correlation or {@code null} if the value is missing or invalid
+     */
+    public RequestCorrelation resolve(String headerName, String correlationId) {
+
+        if (!StringUtils.hasText(correlationId)) {
+            return null;
+        }
+
+        if (TraceparentParser.HEADER_NAME.equalsIgnoreCase(headerName)) {
+            return TraceparentParser.parse(correlationId);
+        }
+
+        // the valid UUIDs in the canonical text form do not need to be scanned again
+        RequestCorrelation requestCorrelation = UuidRequestCorrelation.fromString(correlationId);
+        if (requestCorrelation != null && (validator == null || validator.isUuidAllowed())) {
+            return requestCorrelation;
+        }
+        if (requestCorrelation == null && base64) {
+            requestCorrelation = UuidRequestCorrelation.fromBase64(correlationId);
+        }
+
+        if (validator == null) {
+            return requestCorrelation != null ? requestCorrelation : new DefaultRequestCorrelation(correlationId);
+        }
+
+        // the UUIDs are validated by their received text, the same as any other id, and stay binary if valid
+        final String validCorrelationId = validator.validate(correlationId);
+        if (validCorrelationId == correlationId) {
+            return requestCorrelation != null ? requestCorrelation : new DefaultRequestCorrelation(correlationId);
+        }
+        rejectCorrelationId(headerName, correlationId, validCorrelationId);
+        return validCorrelationId != null ? new DefaultRequestCorrelation(validCorrelationId) : null;
+    }
+
+    /**
+     * Records the rejection of the inbound correlation id.
+     *
+     * @param headerName         the header name
+     * @param correlationId      the rejected correlation id
+     * @param validCorrelationId the truncated correlation id or {@code null} if discarded
+     */
+    private void rejectCorrelationId(String headerName, String correlationId, String validCorrelationId) {
+
+        if (metrics != null) {
+            metrics.recordRejected();
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Invalid correlation id in header {} of length {}, {}", headerName, correlationId.length(),
+                    validCorrelationId != null ? "truncated to: " + validCorrelationId : "discarded");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.logging;
+
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link MdcCorrelationInterceptor}, that exposes the correlation id through the logging MDC.
+ *
+ * @author Jakub Narloch
+ */
+@Configuration
+@ConditionalOnClass(MDC.class)
+@ConditionalOnProperty(value = "request.correlation.mdc.enabled")
+public class MdcCorrelationConfiguration {
+
+    @Bean
+    public MdcCorrelationInterceptor mdcCorrelationInterceptor(RequestCorrelationProperties properties) {
+        return new MdcCorrelationInterceptor(properties.getMdc().getKey());
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.logging;
+
+import io.jmnarloch.spring.request.correlation.api.ThreadBoundCorrelationInterceptor;
+import org.slf4j.MDC;
+import org.springframework.util.Assert;
+
+/**
+ * Puts the correlation id into the logging {@link MDC} under the configured key and restores the previous value
+ * afterwards. The MDC is not modified at all if the thread already holds the same correlation id, which avoids the
+ * copy on write cost of the MDC implementations.
+ *
+ * @author Jakub Narloch
+ */
+public class MdcCorrelationInterceptor implements ThreadBoundCorrelationInterceptor {
+
+    /**
+     * The MDC key.
+     */
+    private final String key;
+
+    /**
+     * The per thread stack of the replaced MDC values.
+     */
+    private final ThreadLocal<MdcState> state = new ThreadLocal<MdcState>() {
+        @Override
+        protected MdcState initialValue() {
+            return new MdcState();
+        }
+    };
+
+    /**
+     * Creates new instance of {@link MdcCorrelationInterceptor}.
+     *
+     * @param key the MDC key
+     * @throws IllegalArgumentException if {@code key} is {@code null} or empty
+     */
+    public MdcCorrelationInterceptor(String key) {
+        Assert.hasLength(key, "Parameter 'key' can not be empty");
+
+        this.key = key;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void afterCorrelationIdSet(String correlationId) {
+
+        final String previous = MDC.get(key);
+        final boolean changed = !correlationId.equals(previous);
+        state.get().push(previous, changed);
+        if (changed) {
+            MDC.put(key, correlationId);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void cleanUp(String correlationId) {
+
+        final MdcState mdcState = state.get();
+        if (mdcState.depth == 0) {
+            return;
+        }
+
+        final int depth = --mdcState.depth;
+        final String previous = mdcState.values[depth];
+        mdcState.values[depth] = null;
+        if (!mdcState.changed[depth]) {
+            return;
+        }
+
+        if (previous == null) {
+            MDC.remove(key);
+        } else {
+            MDC.put(key, previous);
+        }
+    }
+
+    /**
+     * The stack of the replaced values, reused by the thread for every request.
+     */
+    private static class MdcState {
+
+        /**
+         * The initial stack capacity. A thread normally nests only a few correlation scopes, the request itself plus
+         * an occasional forward, include or task run on the calling thread, so the stack rarely has to grow.
+         */
+        private static final int INITIAL_CAPACITY = 4;
+
+        /**
+         * The MDC values replaced at each depth, null if the key was not set.
+         */
+        private String[] values = new String[INITIAL_CAPACITY];
+
+        /**
+         * Whether the MDC value was changed at each depth and has to be restored.
+         */
+        private boolean[] changed = new boolean[INITIAL_CAPACITY];
+
+        /**
+         * The number of the currently open correlation scopes.
+         */
+        private int depth;
+
+        /**
+         * Pushes the replaced value on the stack, doubling its capacity when full.
+         *
+         * @param value        the replaced MDC value
+         * @param valueChanged whether the MDC value was changed
+         */
+        void push(String value, boolean valueChanged) {
+            if (depth == values.length) {
+                final String[] newValues = new String[depth * 2];
+                final boolean[] newChanged = new boolean[depth * 2];
+                System.arraycopy(values, 0, newValues, 0, depth);
+                System.arraycopy(changed, 0, newChanged, 0, depth);
+                values = newValues;
+                changed = newChanged;
+            }
+            values[depth] = value;
+            changed[depth] = valueChanged;
+            depth++;
+        }
+    }
+}
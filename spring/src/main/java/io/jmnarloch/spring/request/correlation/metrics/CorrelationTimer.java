@@ -0,0 +1,85 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock free timer, that keeps the number of recorded events together with their total and maximum duration.
+ *
+ * @author Jakub Narloch
+ */
+public final class CorrelationTimer {
+
+    /**
+     * The number of recorded events.
+     */
+    private final AtomicLong count = new AtomicLong();
+
+    /**
+     * The total duration in nanoseconds.
+     */
+    private final AtomicLong totalTime = new AtomicLong();
+
+    /**
+     * The maximum duration in nanoseconds.
+     */
+    private final AtomicLong maxTime = new AtomicLong();
+
+    /**
+     * Records single event.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+
+        count.incrementAndGet();
+        totalTime.addAndGet(nanos);
+
+        // the maximum is rarely exceeded, hence the plain read before the CAS
+        long max = maxTime.get();
+        while (nanos > max && !maxTime.compareAndSet(max, nanos)) {
+            max = maxTime.get();
+        }
+    }
+
+    /**
+     * Retrieves the number of recorded events.
+     *
+     * @return the number of events
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Retrieves the total duration in nanoseconds.
+     *
+     * @return the total duration
+     */
+    public long getTotalTime() {
+        return totalTime.get();
+    }
+
+    /**
+     * Retrieves the maximum duration in nanoseconds.
+     *
+     * @return the maximum duration
+     */
+    public long getMaxTime() {
+        return maxTime.get();
+    }
+}
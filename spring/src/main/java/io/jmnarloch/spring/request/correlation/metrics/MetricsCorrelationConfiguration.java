@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.metrics;
+
+import io.jmnarloch.spring.request.correlation.api.CorrelationIdGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the {@link RequestCorrelationMetrics} and, if the Spring Boot Actuator is present, exposes them through
+ * the metrics endpoint.
+ *
+ * @author Jakub Narloch
+ */
+@Configuration
+@ConditionalOnProperty(value = "request.correlation.metrics.enabled")
+public class MetricsCorrelationConfiguration {
+
+    @Bean
+    public RequestCorrelationMetrics requestCorrelationMetrics() {
+        return new RequestCorrelationMetrics();
+    }
+
+    @Configuration
+    @ConditionalOnClass(name = "org.springframework.boot.actuate.endpoint.PublicMetrics")
+    protected static class PublicMetricsConfiguration {
+
+        @Autowired(required = false)
+        private CorrelationIdGenerator correlationIdGenerator;
+
+        @Bean
+        public RequestCorrelationPublicMetrics requestCorrelationPublicMetrics(RequestCorrelationMetrics metrics) {
+            return new RequestCorrelationPublicMetrics(metrics, correlationIdGenerator);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects the request correlation metrics. The recording is lock free: every metric is a single atomic counter,
+ * so it can be left enabled in production.
+ *
+ * The instrumented components receive {@code null} instead of this class when the metrics are disabled, and so
+ * they skip the recording, including the clock reads, altogether.
+ *
+ * @author Jakub Narloch
+ */
+public class RequestCorrelationMetrics {
+
+    /**
+     * The number of requests with the correlation id received from upstream.
+     */
+    private final AtomicLong inbound = new AtomicLong();
+
+    /**
+     * The number of inbound correlation ids rejected by the validation.
+     */
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * The correlation id generation timer.
+     */
+    private final CorrelationTimer generation = new CorrelationTimer();
+
+    /**
+     * The interceptors dispatch timer.
+     */
+    private final CorrelationTimer interceptors = new CorrelationTimer();
+
+    /**
+     * The interceptors clean up dispatch timer.
+     */
+    private final CorrelationTimer interceptorsCleanup = new CorrelationTimer();
+
+    /**
+     * The number of {@link org.springframework.web.client.RestTemplate} requests with the correlation id propagated.
+     */
+    private final AtomicLong httpClientPropagated = new AtomicLong();
+
+    /**
+     * The number of {@link org.springframework.web.client.RestTemplate} requests without correlation id.
+     */
+    private final AtomicLong httpClientMissing = new AtomicLong();
+
+    /**
+     * The number of Feign requests with the correlation id propagated.
+     */
+    private final AtomicLong feignPropagated = new AtomicLong();
+
+    /**
+     * The number of Feign requests without correlation id.
+     */
+    private final AtomicLong feignMissing = new AtomicLong();
+
+    /**
+     * Records request with the correlation id received from upstream.
+     */
+    public void recordInbound() {
+        inbound.incrementAndGet();
+    }
+
+    /**
+     * Records inbound correlation id rejected, or truncated, by the validation.
+     */
+    public void recordRejected() {
+        rejected.incrementAndGet();
+    }
+
+    /**
+     * Records the generation of new correlation id.
+     *
+     * @param nanos the generation time in nanoseconds
+     */
+    public void recordGeneration(long nanos) {
+        generation.record(nanos);
+    }
+
+    /**
+     * Records the interceptors dispatch.
+     *
+     * @param nanos the dispatch time in nanoseconds
+     */
+    public void recordInterceptors(long nanos) {
+        interceptors.record(nanos);
+    }
+
+    /**
+     * Records the interceptors clean up dispatch.
+     *
+     * @param nanos the dispatch time in nanoseconds
+     */
+    public void recordInterceptorsCleanup(long nanos) {
+        interceptorsCleanup.record(nanos);
+    }
+
+    /**
+     * Records outgoing {@link org.springframework.web.client.RestTemplate} request.
+     *
+     * @param propagated whether the correlation id has been propagated
+     */
+    public void recordHttpClientRequest(boolean propagated) {
+        (propagated ? httpClientPropagated : httpClientMissing).incrementAndGet();
+    }
+
+    /**
+     * Records outgoing Feign request.
+     *
+     * @param propagated whether the correlation id has been propagated
+     */
+    public void recordFeignRequest(boolean propagated) {
+        (propagated ? feignPropagated : feignMissing).incrementAndGet();
+    }
+
+    /**
+     * Retrieves the number of requests with the correlation id received from upstream.
+     *
+     * @return the number of requests
+     */
+    public long getInbound() {
+        return inbound.get();
+    }
+
+    /**
+     * Retrieves the number of inbound correlation ids rejected, or truncated, by the validation.
+     *
+     * @return the number of rejected ids
+     */
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    /**
+     * Retrieves the correlation id generation timer. Its count is the number of generated ids.
+     *
+     * @return the generation timer
+     */
+    public CorrelationTimer getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Retrieves the interceptors dispatch timer.
+     *
+     * @return the interceptors timer
+     */
+    public CorrelationTimer getInterceptors() {
+        return interceptors;
+    }
+
+    /**
+     * Retrieves the interceptors clean up dispatch timer.
+     *
+     * @return the interceptors clean up timer
+     */
+    public CorrelationTimer getInterceptorsCleanup() {
+        return interceptorsCleanup;
+    }
+
+    /**
+     * Retrieves the number of {@link org.springframework.web.client.RestTemplate} requests with the correlation id.
+     *
+     * @return the number of requests
+     */
+    public long getHttpClientPropagated() {
+        return httpClientPropagated.get();
+    }
+
+    /**
+     * Retrieves the number of {@link org.springframework.web.client.RestTemplate} requests without correlation id.
+     *
+     * @return the number of requests
+     */
+    public long getHttpClientMissing() {
+        return httpClientMissing.get();
+    }
+
+    /**
+     * Retrieves the number of Feign requests with the correlation id.
+     *
+     * @return the number of requests
+     */
+    public long getFeignPropagated() {
+        return feignPropagated.get();
+    }
+
+    /**
+     * Retrieves the number of Feign requests without correlation id.
+     *
+     * @return the number of requests
+     */
+    public long getFeignMissing() {
+        return feignMissing.get();
+    }
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.metrics;
+
+import io.jmnarloch.spring.request.correlation.api.CorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.generator.PooledCorrelationIdGenerator;
+import org.springframework.boot.actuate.endpoint.PublicMetrics;
+import org.springframework.boot.actuate.metrics.Metric;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exposes the {@link RequestCorrelationMetrics} through the Spring Boot Actuator's metrics endpoint, together with the
+ * pool depth and the fallback count of the {@link PooledCorrelationIdGenerator}, if used.
+ *
+ * @author Jakub Narloch
+ */
+public class RequestCorrelationPublicMetrics implements PublicMetrics {
+
+    /**
+     * The metrics name prefix.
+     */
+    private static final String PREFIX = "request.correlation.";
+
+    /**
+     * The correlation metrics.
+     */
+    private final RequestCorrelationMetrics metrics;
+
+    /**
+     * The correlation id generator.
+     */
+    private final CorrelationIdGenerator generator;
+
+    /**
+     * Creates new instance of {@link RequestCorrelationPublicMetrics} class.
+     *
+     * @param metrics the correlation metrics
+     * @throws IllegalArgumentException if {@code metrics} is {@code null}
+     */
+    public RequestCorrelationPublicMetrics(RequestCorrelationMetrics metrics) {
+        this(metrics, null);
+    }
+
+    /**
+     * Creates new instance of {@link RequestCorrelationPublicMetrics} class.
+     *
+     * @param metrics   the correlation metrics
+     * @param generator the correlation id generator, may be {@code null}
+     * @throws IllegalArgumentException if {@code metrics} is {@code null}
+     */
+    public RequestCorrelationPublicMetrics(RequestCorrelationMetrics metrics, CorrelationIdGenerator generator) {
+        Assert.notNull(metrics, "Parameter 'metrics' can not be null");
+
+        this.metrics = metrics;
+        this.generator = generator;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Collection<Metric<?>> metrics() {
+
+        final List<Metric<?>> result = new ArrayList<>();
+        result.add(new Metric<>(PREFIX + "inbound", metrics.getInbound()));
+        result.add(new Metric<>(PREFIX + "rejected", metrics.getRejected()));
+        addTimer(result, "generated", metrics.getGeneration());
+        addTimer(result, "interceptors", metrics.getInterceptors());
+        addTimer(result, "interceptors.cleanup", metrics.getInterceptorsCleanup());
+        result.add(new Metric<>(PREFIX + "client.http.propagated", metrics.getHttpClientPropagated()));
+        result.add(new Metric<>(PREFIX + "client.http.missing", metrics.getHttpClientMissing()));
+        result.add(new Metric<>(PREFIX + "client.feign.propagated", metrics.getFeignPropagated()));
+        result.add(new Metric<>(PREFIX + "client.feign.missing", metrics.getFeignMissing()));
+        if (generator instanceof PooledCorrelationIdGenerator) {
+            final PooledCorrelationIdGenerator pooledGenerator = (PooledCorrelationIdGenerator) generator;
+            result.add(new Metric<>(PREFIX + "pool.depth", pooledGenerator.getPoolDepth()));
+            result.add(new Metric<>(PREFIX + "pool.fallback", pooledGenerator.getFallbackCount()));
+        }
+        return result;
+    }
+
+    /**
+     * Adds the timer metrics, with the durations in milliseconds.
+     *
+     * @param result the metrics
+     * @param name   the timer name
+     * @param timer  the timer
+     */
+    private static void addTimer(List<Metric<?>> result, String name, CorrelationTimer timer) {
+
+        result.add(new Metric<>(PREFIX + name, timer.getCount()));
+        result.add(new Metric<>(PREFIX + name + ".totalTime", toMillis(timer.getTotalTime())));
+        result.add(new Metric<>(PREFIX + name + ".maxTime", toMillis(timer.getMaxTime())));
+    }
+
+    /**
+     * Converts the nanoseconds into the fractional milliseconds.
+     *
+     * @param nanos the nanoseconds
+     * @return the milliseconds
+     */
+    private static double toMillis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.support;
+
+import io.jmnarloch.spring.request.correlation.api.CorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.generator.PooledCorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.generator.SnowflakeGenerator;
+import io.jmnarloch.spring.request.correlation.generator.ThreadLocalUuidGenerator;
+import io.jmnarloch.spring.request.correlation.generator.TimeOrderedUuidGenerator;
+import io.jmnarloch.spring.request.correlation.generator.UuidGenerator;
+import org.springframework.util.Assert;
+
+/**
+ * Creates the build in {@link CorrelationIdGenerator}s out of the {@link RequestCorrelationProperties}, for both the
+ * servlet and the reactive configuration.
+ *
+ * @author Jakub Narloch
+ */
+public final class CorrelationIdGenerators {
+
+    /**
+     * Creates new instance of {@link CorrelationIdGenerators} class.
+     */
+    private CorrelationIdGenerators() {
+        // private constructor
+    }
+
+    /**
+     * Creates the configured generator. The pooled generator is already started.
+     *
+     * @param properties the correlation properties
+     * @return the correlation id generator
+     * @throws IllegalArgumentException if {@code properties} is {@code null}
+     */
+    public static CorrelationIdGenerator create(RequestCorrelationProperties properties) {
+        Assert.notNull(properties, "Parameter 'properties' can not be null");
+
+        final CorrelationIdGenerator generator = createGenerator(properties);
+        if (!properties.getPool().isEnabled()) {
+            return generator;
+        }
+
+        final PooledCorrelationIdGenerator pooledGenerator = PooledCorrelationIdGenerator.create(generator,
+                properties.getPool().getCapacity(), properties.getPool().getRefillInterval());
+        pooledGenerator.start();
+        return pooledGenerator;
+    }
+
+    /**
+     * Creates the configured generator type.
+     *
+     * @param properties the correlation properties
+     * @return the correlation id generator
+     */
+    private static CorrelationIdGenerator createGenerator(RequestCorrelationProperties properties) {
+
+        switch (properties.getGenerator()) {
+            case THREAD_LOCAL_UUID:
+                return new ThreadLocalUuidGenerator();
+            case TIME_ORDERED_UUID:
+                return new TimeOrderedUuidGenerator();
+            case SNOWFLAKE:
+                return properties.getNodeId() != null ?
+                        new SnowflakeGenerator(properties.getNodeId()) : new SnowflakeGenerator();
+            default:
+                return new UuidGenerator();
+        }
+    }
+}
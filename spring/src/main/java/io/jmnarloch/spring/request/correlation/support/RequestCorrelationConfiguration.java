@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.support;
+
+import io.jmnarloch.spring.request.correlation.api.CorrelationIdGenerator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configures the correlation properties and the id generator, shared by all of the integration modules.
+ *
+ * @author Jakub Narloch
+ * @see io.jmnarloch.spring.request.correlation.api.EnableRequestCorrelation
+ */
+@Configuration
+@EnableConfigurationProperties
+public class RequestCorrelationConfiguration {
+
+    @Bean
+    public RequestCorrelationProperties requestCorrelationProperties() {
+        return new RequestCorrelationProperties();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(CorrelationIdGenerator.class)
+    public CorrelationIdGenerator requestIdGenerator(RequestCorrelationProperties properties) {
+
+        return CorrelationIdGenerators.create(properties);
+    }
+}
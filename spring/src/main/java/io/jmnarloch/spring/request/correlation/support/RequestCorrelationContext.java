@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.support;
+
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+
+import java.util.concurrent.Callable;
+
+/**
+ * The backend holding the request correlation for the time of the request processing. The correlation is only ever
+ * bound for the duration of the given callable, which allows the implementations built on top of the scoped values,
+ * that unlike the thread locals can not be set and left bound.
+ *
+ * @author Jakub Narloch
+ * @see RequestCorrelationContextHolder
+ */
+public interface RequestCorrelationContext {
+
+    /**
+     * Retrieves the currently bound correlation.
+     *
+     * @return the correlation or {@code null}
+     */
+    RequestCorrelation getRequestCorrelation();
+
+    /**
+     * Calls the given callable with the correlation bound. The previously bound correlation is restored afterwards.
+     *
+     * @param correlation the correlation
+     * @param callable    the callable
+     * @param <T>         the result type
+     * @return the callable result
+     * @throws Exception if the callable fails
+     */
+    <T> T callWithCorrelation(RequestCorrelation correlation, Callable<T> callable) throws Exception;
+}
@@ -0,0 +1,141 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.support;
+
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Holds the request correlation bound to the current thread. The correlation is bound by
+ * the {@code RequestCorrelationFilter} for the duration of the request
+ * processing, which makes the lookup independent of the {@link org.springframework.web.context.request.RequestContextHolder}
+ * and the request attributes.
+ *
+ * The {@link RequestCorrelationContext} backend is chosen once, at startup: the {@link ScopedValueRequestCorrelationContext}
+ * whenever the runtime supports it, the {@link ThreadLocalRequestCorrelationContext} otherwise. The choice can be
+ * forced through the {@code request.correlation.context} system property, set to either {@code scoped-value} or
+ * {@code thread-local}.
+ *
+ * @author Jakub Narloch
+ */
+public final class RequestCorrelationContextHolder {
+
+    /**
+     * The system property forcing the context backend.
+     */
+    public static final String CONTEXT_PROPERTY = "request.correlation.context";
+
+    /**
+     * The thread local context, backing {@link #setRequestCorrelation(RequestCorrelation)}.
+     */
+    private static final ThreadLocalRequestCorrelationContext THREAD_LOCAL_CONTEXT =
+            new ThreadLocalRequestCorrelationContext();
+
+    /**
+     * The context backend.
+     */
+    private static final RequestCorrelationContext CONTEXT = createContext(System.getProperty(CONTEXT_PROPERTY));
+
+    /**
+     * Whether the correlation has ever been set directly, while the scoped value context is used. The thread local
+     * context is not looked up before, so that it does not allocate the per thread storage.
+     */
+    private static volatile boolean threadLocalUsed;
+
+    /**
+     * Creates new instance of {@link RequestCorrelationContextHolder} class.
+     */
+    private RequestCorrelationContextHolder() {
+        // private constructor
+    }
+
+    /**
+     * Retrieves the context backend.
+     *
+     * @return the context
+     */
+    public static RequestCorrelationContext getContext() {
+        return CONTEXT;
+    }
+
+    /**
+     * Retrieves the correlation bound to the current thread.
+     *
+     * @return the correlation or {@code null}
+     */
+    public static RequestCorrelation getRequestCorrelation() {
+
+        final RequestCorrelation correlation = CONTEXT.getRequestCorrelation();
+        if (correlation == null && threadLocalUsed) {
+            return THREAD_LOCAL_CONTEXT.getRequestCorrelation();
+        }
+        return correlation;
+    }
+
+    /**
+     * Calls the given callable with the correlation bound to the current thread. The previously bound correlation is
+     * restored afterwards.
+     *
+     * @param correlation the correlation
+     * @param callable    the callable
+     * @param <T>         the result type
+     * @return the callable result
+     * @throws Exception if the callable fails
+     */
+    public static <T> T callWithCorrelation(RequestCorrelation correlation, Callable<T> callable) throws Exception {
+        return CONTEXT.callWithCorrelation(correlation, callable);
+    }
+
+    /**
+     * Binds the correlation to the current thread, through the thread local regardless of the context backend.
+     * Passing {@code null} unbinds the current correlation, while keeping the thread local entry for the next request
+     * handled by the same thread. Prefer {@link #callWithCorrelation(RequestCorrelation, Callable)}.
+     *
+     * @param correlation the correlation or {@code null}
+     */
+    public static void setRequestCorrelation(RequestCorrelation correlation) {
+
+        if (CONTEXT != THREAD_LOCAL_CONTEXT && !threadLocalUsed) {
+            threadLocalUsed = true;
+        }
+        THREAD_LOCAL_CONTEXT.setRequestCorrelation(correlation);
+    }
+
+    /**
+     * Removes the correlation from the current thread.
+     */
+    public static void resetRequestCorrelation() {
+        THREAD_LOCAL_CONTEXT.resetRequestCorrelation();
+    }
+
+    /**
+     * Creates the context backend.
+     *
+     * @param name the forced backend name or {@code null}
+     * @return the context
+     */
+    static RequestCorrelationContext createContext(String name) {
+
+        if ("thread-local".equals(name)) {
+            return THREAD_LOCAL_CONTEXT;
+        } else if (name != null && !"scoped-value".equals(name)) {
+            throw new IllegalArgumentException("Unsupported request correlation context: " + name);
+        }
+        return ScopedValueRequestCorrelationContext.isSupported() ?
+                new ScopedValueRequestCorrelationContext() : THREAD_LOCAL_CONTEXT;
+    }
+}
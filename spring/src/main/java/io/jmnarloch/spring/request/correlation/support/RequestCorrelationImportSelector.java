@@ -0,0 +1,59 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.support;
+
+import io.jmnarloch.spring.request.correlation.api.EnableRequestCorrelation;
+import org.springframework.beans.factory.BeanClassLoaderAware;
+import org.springframework.context.annotation.DeferredImportSelector;
+import org.springframework.core.io.support.SpringFactoriesLoader;
+import org.springframework.core.type.AnnotationMetadata;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Imports the configurations of the integration modules present on the classpath. Every module lists its
+ * configurations in its {@code META-INF/spring.factories}, under the {@link EnableRequestCorrelation} key, and each
+ * of them is further conditional on the classes of the integrated library.
+ *
+ * @author Jakub Narloch
+ */
+public class RequestCorrelationImportSelector implements DeferredImportSelector, BeanClassLoaderAware {
+
+    /**
+     * The bean class loader.
+     */
+    private ClassLoader beanClassLoader;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setBeanClassLoader(ClassLoader classLoader) {
+        this.beanClassLoader = classLoader;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] selectImports(AnnotationMetadata importingClassMetadata) {
+
+        final Set<String> configurations = new LinkedHashSet<>(
+                SpringFactoriesLoader.loadFactoryNames(EnableRequestCorrelation.class, beanClassLoader));
+        return configurations.toArray(new String[configurations.size()]);
+    }
+}
@@ -0,0 +1,573 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.support;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The request correlation properties.
+ *
+ * @author Jakub Narloch
+ */
+@ConfigurationProperties("request.correlation")
+public class RequestCorrelationProperties {
+
+    /**
+     * Header name.
+     */
+    private String headerName = RequestCorrelationConsts.HEADER_NAME;
+
+    /**
+     * The ordered header names the correlation id is accepted from, only the {@link #headerName} if empty.
+     */
+    private List<String> inboundHeaderNames = new ArrayList<>();
+
+    /**
+     * The encoding of the propagated correlation ids.
+     */
+    private HeaderEncoding headerEncoding = HeaderEncoding.UUID;
+
+    /**
+     * Whether the base64url encoded inbound correlation ids are decoded into the UUIDs.
+     */
+    private boolean inboundBase64 = true;
+
+    /**
+     * The correlation id generator.
+     */
+    private GeneratorType generator = GeneratorType.UUID;
+
+    /**
+     * The node id used by the Snowflake generator, derived from the process if not set.
+     */
+    private Integer nodeId;
+
+    /**
+     * The pre generated correlation id pool.
+     */
+    private Pool pool = new Pool();
+
+    /**
+     * The logging MDC integration.
+     */
+    private Mdc mdc = new Mdc();
+
+    /**
+     * The inbound correlation id validation.
+     */
+    private Validation validation = new Validation();
+
+    /**
+     * The path patterns of the correlated requests, all requests are correlated if empty.
+     */
+    private List<String> includePatterns = new ArrayList<>();
+
+    /**
+     * The path patterns of the requests passed through without the correlation.
+     */
+    private List<String> excludePatterns = new ArrayList<>();
+
+    /**
+     * Creates new instance of {@link RequestCorrelationProperties} class.
+     */
+    public RequestCorrelationProperties() {
+    }
+
+    /**
+     * Retrieves the header names.
+     *
+     * @return the header names
+     */
+    public String getHeaderName() {
+        return headerName;
+    }
+
+    /**
+     * Sets the header names.
+     *
+     * @param headerName the header names
+     */
+    public void setHeaderName(String headerName) {
+        this.headerName = headerName;
+    }
+
+    /**
+     * Retrieves the inbound header names.
+     *
+     * @return the inbound header names
+     */
+    public List<String> getInboundHeaderNames() {
+        return inboundHeaderNames;
+    }
+
+    /**
+     * Sets the inbound header names.
+     *
+     * @param inboundHeaderNames the inbound header names
+     */
+    public void setInboundHeaderNames(List<String> inboundHeaderNames) {
+        this.inboundHeaderNames = inboundHeaderNames;
+    }
+
+    /**
+     * Retrieves the encoding of the propagated correlation ids.
+     *
+     * @return the header encoding
+     */
+    public HeaderEncoding getHeaderEncoding() {
+        return headerEncoding;
+    }
+
+    /**
+     * Sets the encoding of the propagated correlation ids.
+     *
+     * @param headerEncoding the header encoding
+     */
+    public void setHeaderEncoding(HeaderEncoding headerEncoding) {
+        this.headerEncoding = headerEncoding;
+    }
+
+    /**
+     * Retrieves whether the base64url encoded inbound correlation ids are decoded into the UUIDs.
+     *
+     * @return whether the inbound base64url ids are decoded
+     */
+    public boolean isInboundBase64() {
+        return inboundBase64;
+    }
+
+    /**
+     * Sets whether the base64url encoded inbound correlation ids are decoded into the UUIDs.
+     *
+     * @param inboundBase64 whether the inbound base64url ids are decoded
+     */
+    public void setInboundBase64(boolean inboundBase64) {
+        this.inboundBase64 = inboundBase64;
+    }
+
+    /**
+     * Retrieves the correlation id generator type.
+     *
+     * @return the generator type
+     */
+    public GeneratorType getGenerator() {
+        return generator;
+    }
+
+    /**
+     * Sets the correlation id generator type.
+     *
+     * @param generator the generator type
+     */
+    public void setGenerator(GeneratorType generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * Retrieves the generator node id.
+     *
+     * @return the node id
+     */
+    public Integer getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Sets the generator node id.
+     *
+     * @param nodeId the node id
+     */
+    public void setNodeId(Integer nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    /**
+     * Retrieves the correlation id pool properties.
+     *
+     * @return the pool properties
+     */
+    public Pool getPool() {
+        return pool;
+    }
+
+    /**
+     * Sets the correlation id pool properties.
+     *
+     * @param pool the pool properties
+     */
+    public void setPool(Pool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Retrieves the logging MDC properties.
+     *
+     * @return the MDC properties
+     */
+    public Mdc getMdc() {
+        return mdc;
+    }
+
+    /**
+     * Sets the logging MDC properties.
+     *
+     * @param mdc the MDC properties
+     */
+    public void setMdc(Mdc mdc) {
+        this.mdc = mdc;
+    }
+
+    /**
+     * Retrieves the validation properties.
+     *
+     * @return the validation properties
+     */
+    public Validation getValidation() {
+        return validation;
+    }
+
+    /**
+     * Sets the validation properties.
+     *
+     * @param validation the validation properties
+     */
+    public void setValidation(Validation validation) {
+        this.validation = validation;
+    }
+
+    /**
+     * Retrieves the include path patterns.
+     *
+     * @return the include patterns
+     */
+    public List<String> getIncludePatterns() {
+        return includePatterns;
+    }
+
+    /**
+     * Sets the include path patterns.
+     *
+     * @param includePatterns the include patterns
+     */
+    public void setIncludePatterns(List<String> includePatterns) {
+        this.includePatterns = includePatterns;
+    }
+
+    /**
+     * Retrieves the exclude path patterns.
+     *
+     * @return the exclude patterns
+     */
+    public List<String> getExcludePatterns() {
+        return excludePatterns;
+    }
+
+    /**
+     * Sets the exclude path patterns.
+     *
+     * @param excludePatterns the exclude patterns
+     */
+    public void setExcludePatterns(List<String> excludePatterns) {
+        this.excludePatterns = excludePatterns;
+    }
+
+    /**
+     * The build in correlation id generators.
+     */
+    public enum GeneratorType {
+
+        /**
+         * Random UUID generated through {@link java.util.UUID#randomUUID()}.
+         */
+        UUID,
+
+        /**
+         * Random UUID generated from per thread random state.
+         */
+        THREAD_LOCAL_UUID,
+
+        /**
+         * Time ordered, version 7, UUID.
+         */
+        TIME_ORDERED_UUID,
+
+        /**
+         * Compact, 64 bit, Snowflake like identifier.
+         */
+        SNOWFLAKE
+    }
+
+    /**
+     * The encodings of the propagated 128 bit correlation ids. The other ids are always propagated as is.
+     */
+    public enum HeaderEncoding {
+
+        /**
+         * The canonical, 36 characters long, UUID text form.
+         */
+        UUID,
+
+        /**
+         * The 22 characters long, unpadded base64url form.
+         */
+        BASE64URL
+    }
+
+    /**
+     * The pre generated correlation id pool properties.
+     */
+    public static class Pool {
+
+        /**
+         * Whether the correlation ids should be pre generated in the background.
+         */
+        private boolean enabled;
+
+        /**
+         * The pool capacity.
+         */
+        private int capacity = 1024;
+
+        /**
+         * The refill interval in milliseconds.
+         */
+        private long refillInterval = 10;
+
+        /**
+         * Returns whether the pool is enabled.
+         *
+         * @return whether the pool is enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether the pool is enabled.
+         *
+         * @param enabled whether the pool is enabled
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Retrieves the pool capacity.
+         *
+         * @return the pool capacity
+         */
+        public int getCapacity() {
+            return capacity;
+        }
+
+        /**
+         * Sets the pool capacity.
+         *
+         * @param capacity the pool capacity
+         */
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * Retrieves the refill interval in milliseconds.
+         *
+         * @return the refill interval
+         */
+        public long getRefillInterval() {
+            return refillInterval;
+        }
+
+        /**
+         * Sets the refill interval in milliseconds.
+         *
+         * @param refillInterval the refill interval
+         */
+        public void setRefillInterval(long refillInterval) {
+            this.refillInterval = refillInterval;
+        }
+    }
+
+    /**
+     * The logging MDC integration properties.
+     */
+    public static class Mdc {
+
+        /**
+         * Whether the correlation id should be put into the logging MDC.
+         */
+        private boolean enabled;
+
+        /**
+         * The MDC key.
+         */
+        private String key = "correlationId";
+
+        /**
+         * Returns whether the MDC is enabled.
+         *
+         * @return whether the MDC is enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether the MDC is enabled.
+         *
+         * @param enabled whether the MDC is enabled
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Retrieves the MDC key.
+         *
+         * @return the MDC key
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * Sets the MDC key.
+         *
+         * @param key the MDC key
+         */
+        public void setKey(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * The inbound correlation id validation properties.
+     */
+    public static class Validation {
+
+        /**
+         * Whether the inbound correlation ids are validated.
+         */
+        private boolean enabled;
+
+        /**
+         * The maximum length.
+         */
+        private int maxLength = 128;
+
+        /**
+         * The allowed characters besides the ASCII letters and digits.
+         */
+        private String allowedCharacters = "-_.:+/=";
+
+        /**
+         * The policy applied to the invalid ids.
+         */
+        private Policy policy = Policy.REGENERATE;
+
+        /**
+         * Returns whether the validation is enabled.
+         *
+         * @return whether the validation is enabled
+         */
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        /**
+         * Sets whether the validation is enabled.
+         *
+         * @param enabled whether the validation is enabled
+         */
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        /**
+         * Retrieves the maximum length.
+         *
+         * @return the maximum length
+         */
+        public int getMaxLength() {
+            return maxLength;
+        }
+
+        /**
+         * Sets the maximum length.
+         *
+         * @param maxLength the maximum length
+         */
+        public void setMaxLength(int maxLength) {
+            this.maxLength = maxLength;
+        }
+
+        /**
+         * Retrieves the allowed characters besides the ASCII letters and digits.
+         *
+         * @return the allowed characters
+         */
+        public String getAllowedCharacters() {
+            return allowedCharacters;
+        }
+
+        /**
+         * Sets the allowed characters besides the ASCII letters and digits.
+         *
+         * @param allowedCharacters the allowed characters
+         */
+        public void setAllowedCharacters(String allowedCharacters) {
+            this.allowedCharacters = allowedCharacters;
+        }
+
+        /**
+         * Retrieves the policy applied to the invalid ids.
+         *
+         * @return the policy
+         */
+        public Policy getPolicy() {
+            return policy;
+        }
+
+        /**
+         * Sets the policy applied to the invalid ids.
+         *
+         * @param policy the policy
+         */
+        public void setPolicy(Policy policy) {
+            this.policy = policy;
+        }
+
+        /**
+         * The policy applied to the invalid ids.
+         */
+        public enum Policy {
+
+            /**
+             * Discards the inbound id and generates new one.
+             */
+            REGENERATE,
+
+            /**
+             * Keeps the longest valid prefix of the inbound id, up to the maximum length. The id is generated if
+             * there is no valid prefix.
+             */
+            TRUNCATE
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.support;
+
+import io.jmnarloch.spring.request.correlation.api.BinaryRequestCorrelation;
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+import io.jmnarloch.spring.request.correlation.generator.UuidCodec;
+import io.jmnarloch.spring.request.correlation.generator.UuidRequestCorrelation;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * A utility class for retrieving the currently bound request correlation id.
+ *
+ * @author Jakub Narloch
+ */
+public class RequestCorrelationUtils {
+
+    /**
+     * Retrieves the current request correlation id if present.
+     *
+     * @return the correlation id or {@code null}
+     */
+    public static String getCurrentCorrelationId() {
+
+        final RequestCorrelation correlation = getCurrentCorrelation();
+        return correlation != null ? correlation.getRequestId() : null;
+    }
+
+    /**
+     * Retrieves the current request correlation id if present, in the given encoding. Only the 128 bit correlation ids
+     * are encoded, the other ones are returned as is.
+     *
+     * @param encoding the header encoding
+     * @return the correlation id or {@code null}
+     */
+    public static String getCurrentCorrelationId(RequestCorrelationProperties.HeaderEncoding encoding) {
+
+        final RequestCorrelation correlation = getCurrentCorrelation();
+        return correlation != null ? getCorrelationId(correlation, encoding) : null;
+    }
+
+    /**
+     * Retrieves the correlation id in the given encoding. Only the 128 bit correlation ids are encoded, the other ones
+     * are returned as is.
+     *
+     * @param correlation the correlation
+     * @param encoding    the header encoding
+     * @return the correlation id
+     */
+    public static String getCorrelationId(RequestCorrelation correlation,
+                                          RequestCorrelationProperties.HeaderEncoding encoding) {
+
+        if (encoding == RequestCorrelationProperties.HeaderEncoding.BASE64URL) {
+            if (correlation instanceof UuidRequestCorrelation) {
+                return ((UuidRequestCorrelation) correlation).getCompactRequestId();
+            } else if (correlation instanceof BinaryRequestCorrelation) {
+                final BinaryRequestCorrelation binaryCorrelation = (BinaryRequestCorrelation) correlation;
+                return UuidCodec.formatBase64(binaryCorrelation.getMostSignificantBits(),
+                        binaryCorrelation.getLeastSignificantBits());
+            }
+        }
+        return correlation.getRequestId();
+    }
+
+    /**
+     * Retrieves the current request correlation if present. The UUID correlation ids are returned as
+     * {@link io.jmnarloch.spring.request.correlation.api.BinaryRequestCorrelation}.
+     *
+     * @return the correlation or {@code null}
+     */
+    public static RequestCorrelation getCurrentCorrelation() {
+
+        final RequestCorrelation correlation = RequestCorrelationContextHolder.getRequestCorrelation();
+        if (correlation != null) {
+            return correlation;
+        }
+
+        // falls back to the request attribute, for instance when the request was forwarded
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            Object attribute = requestAttributes
+                    .getAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME, RequestAttributes.SCOPE_REQUEST);
+
+            if (attribute instanceof RequestCorrelation) {
+                return (RequestCorrelation) attribute;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.support;
+
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.Callable;
+
+/**
+ * The {@link RequestCorrelationContext} built on the {@code java.lang.ScopedValue}, available since Java 21, as the
+ * preview API up to Java 24. The scoped value is bound only for the duration of the call and, unlike the thread local,
+ * does not allocate any per thread storage, which makes it suitable for the large number of short lived virtual
+ * threads. The binding is also inherited by the subtasks forked through the {@code StructuredTaskScope}.
+ *
+ * The scoped value is accessed through the method handles, since the project targets Java 7.
+ *
+ * @author Jakub Narloch
+ */
+public final class ScopedValueRequestCorrelationContext implements RequestCorrelationContext {
+
+    /**
+     * The scoped value class name.
+     */
+    private static final String SCOPED_VALUE_CLASS = "java.lang.ScopedValue";
+
+    /**
+     * The {@code ScopedValue.newInstance()} handle, {@code null} if not supported.
+     */
+    private static final MethodHandle NEW_INSTANCE;
+
+    /**
+     * The {@code ScopedValue.isBound()} handle, {@code null} if not supported.
+     */
+    private static final MethodHandle IS_BOUND;
+
+    /**
+     * The {@code ScopedValue.get()} handle, {@code null} if not supported.
+     */
+    private static final MethodHandle GET;
+
+    /**
+     * The {@code ScopedValue.where(ScopedValue, Object)} handle, {@code null} if not supported.
+     */
+    private static final MethodHandle WHERE;
+
+    /**
+     * The {@code ScopedValue.Carrier.run(Runnable)} handle, {@code null} if not supported.
+     */
+    private static final MethodHandle RUN;
+
+    static {
+        MethodHandle newInstance = null;
+        MethodHandle isBound = null;
+        MethodHandle get = null;
+        MethodHandle where = null;
+        MethodHandle run = null;
+        try {
+            final MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            final Class<?> scopedValueClass = Class.forName(SCOPED_VALUE_CLASS);
+            final Class<?> carrierClass = Class.forName(SCOPED_VALUE_CLASS + "$Carrier");
+
+            newInstance = lookup.findStatic(scopedValueClass, "newInstance", MethodType.methodType(scopedValueClass))
+                    .asType(MethodType.methodType(Object.class));
+            isBound = lookup.findVirtual(scopedValueClass, "isBound", MethodType.methodType(boolean.class))
+                    .asType(MethodType.methodType(boolean.class, Object.class));
+            get = lookup.findVirtual(scopedValueClass, "get", MethodType.methodType(Object.class))
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            where = lookup.findStatic(scopedValueClass, "where",
+                    MethodType.methodType(carrierClass, scopedValueClass, Object.class))
+                    .asType(MethodType.methodType(Object.class, Object.class, Object.class));
+            run = lookup.findVirtual(carrierClass, "run", MethodType.methodType(void.class, Runnable.class))
+                    .asType(MethodType.methodType(void.class, Object.class, Runnable.class));
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException e) {
+            newInstance = null;
+        }
+        NEW_INSTANCE = newInstance;
+        IS_BOUND = isBound;
+        GET = get;
+        WHERE = where;
+        RUN = run;
+    }
+
+    /**
+     * The scoped value instance.
+     */
+    private final Object scopedValue;
+
+    /**
+     * Creates new instance of {@link ScopedValueRequestCorrelationContext} class.
+     *
+     * @throws IllegalStateException if the scoped values are not supported by the runtime
+     */
+    public ScopedValueRequestCorrelationContext() {
+        if (!isSupported()) {
+            throw new IllegalStateException("The java.lang.ScopedValue is not supported by the runtime");
+        }
+
+        try {
+            this.scopedValue = (Object) NEW_INSTANCE.invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns whether the scoped values are supported by the runtime.
+     *
+     * @return whether the scoped values are supported
+     */
+    public static boolean isSupported() {
+        return NEW_INSTANCE != null;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * The binding is checked first, since {@code ScopedValue.orElse} rejects the {@code null} default since Java 24.
+     */
+    @Override
+    public RequestCorrelation getRequestCorrelation() {
+
+        try {
+            if (!(boolean) IS_BOUND.invokeExact(scopedValue)) {
+                return null;
+            }
+            return (RequestCorrelation) (Object) GET.invokeExact(scopedValue);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T callWithCorrelation(RequestCorrelation correlation, Callable<T> callable) throws Exception {
+
+        final ScopedCall<T> call = new ScopedCall<>(callable);
+        try {
+            final Object carrier = (Object) WHERE.invokeExact(scopedValue, (Object) correlation);
+            RUN.invokeExact(carrier, (Runnable) call);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+        return call.getResult();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "scoped-value";
+    }
+
+    /**
+     * Adapts the {@link Callable} to the {@link Runnable} accepted by the scoped value carrier, keeping its result
+     * or the checked exception.
+     *
+     * @param <T> the result type
+     */
+    private static final class ScopedCall<T> implements Runnable {
+
+        /**
+         * The callable.
+         */
+        private final Callable<T> callable;
+
+        /**
+         * The callable result.
+         */
+        private T result;
+
+        /**
+         * The checked exception thrown by the callable.
+         */
+        private Exception exception;
+
+        /**
+         * Creates new instance of {@link ScopedCall} class.
+         *
+         * @param callable the callable
+         */
+        ScopedCall(Callable<T> callable) {
+            this.callable = callable;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public void run() {
+
+            try {
+                result = callable.call();
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                exception = e;
+            }
+        }
+
+        /**
+         * Retrieves the callable result.
+         *
+         * @return the result
+         * @throws Exception if the callable failed
+         */
+        T getResult() throws Exception {
+
+            if (exception != null) {
+                throw exception;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.support;
+
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+
+import java.util.concurrent.Callable;
+
+/**
+ * The {@link RequestCorrelationContext} binding the correlation to the current thread through the {@link ThreadLocal}.
+ *
+ * @author Jakub Narloch
+ */
+public final class ThreadLocalRequestCorrelationContext implements RequestCorrelationContext {
+
+    /**
+     * The thread bound correlation.
+     */
+    private final ThreadLocal<RequestCorrelation> correlation = new ThreadLocal<>();
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public RequestCorrelation getRequestCorrelation() {
+        return correlation.get();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public <T> T callWithCorrelation(RequestCorrelation correlation, Callable<T> callable) throws Exception {
+
+        final RequestCorrelation previousCorrelation = this.correlation.get();
+        this.correlation.set(correlation);
+        try {
+            return callable.call();
+        } finally {
+            this.correlation.set(previousCorrelation);
+        }
+    }
+
+    /**
+     * Binds the correlation to the current thread. Passing {@code null} unbinds the current correlation, while keeping
+     * the thread local entry for the next request handled by the same thread.
+     *
+     * @param correlation the correlation or {@code null}
+     */
+    public void setRequestCorrelation(RequestCorrelation correlation) {
+        this.correlation.set(correlation);
+    }
+
+    /**
+     * Removes the correlation from the current thread.
+     */
+    public void resetRequestCorrelation() {
+        correlation.remove();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "thread-local";
+    }
+}
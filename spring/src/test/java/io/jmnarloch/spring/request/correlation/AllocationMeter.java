@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation;
+
+import org.junit.Assume;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the number of bytes allocated by the operation through the per thread allocation counter of the HotSpot
+ * JVM. The tests using it are skipped on the JVMs that do not support the counter.
+ *
+ * @author Jakub Narloch
+ */
+public final class AllocationMeter {
+
+    /**
+     * The number of invocations run before the measurement, so that the operation is JIT compiled.
+     */
+    private static final int WARM_UP_ITERATIONS = 50000;
+
+    /**
+     * The number of measured rounds, the lowest result is taken to filter out the one off allocations.
+     */
+    private static final int ROUNDS = 5;
+
+    /**
+     * Creates new instance of {@link AllocationMeter} class.
+     */
+    private AllocationMeter() {
+        // private constructor
+    }
+
+    /**
+     * Measures the average number of bytes allocated by single invocation of the operation in the steady state.
+     *
+     * @param operation  the operation
+     * @param iterations the number of invocations per round
+     * @return the allocated bytes per invocation
+     * @throws Exception if the operation fails
+     */
+    public static double measure(Operation operation, int iterations) throws Exception {
+
+        final com.sun.management.ThreadMXBean threadMXBean = getThreadMXBean();
+        final long threadId = Thread.currentThread().getId();
+
+        for (int ind = 0; ind < WARM_UP_ITERATIONS; ind++) {
+            operation.run();
+        }
+
+        double result = Double.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            final long start = threadMXBean.getThreadAllocatedBytes(threadId);
+            for (int ind = 0; ind < iterations; ind++) {
+                operation.run();
+            }
+            final long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - start;
+            result = Math.min(result, allocated / (double) iterations);
+        }
+        return result;
+    }
+
+    /**
+     * Retrieves the thread MX bean, skipping the test if the allocation counter is not available.
+     *
+     * @return the thread MX bean
+     */
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue("Thread allocation counter not supported",
+                threadMXBean instanceof com.sun.management.ThreadMXBean);
+
+        final com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        Assume.assumeTrue("Thread allocation counter not supported",
+                sunThreadMXBean.isThreadAllocatedMemorySupported());
+        if (!sunThreadMXBean.isThreadAllocatedMemoryEnabled()) {
+            sunThreadMXBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        return sunThreadMXBean;
+    }
+
+    /**
+     * The measured operation.
+     */
+    public interface Operation {
+
+        /**
+         * Runs the operation.
+         *
+         * @throws Exception if any error occurs
+         */
+        void run() throws Exception;
+    }
+}
@@ -17,9 +17,14 @@ package io.jmnarloch.spring.request.correlation;
 
 import io.jmnarloch.spring.request.correlation.filter.DefaultRequestCorrelation;
 import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConsts;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
 /**
  * An convinient utility class.
  *
@@ -36,4 +41,32 @@ public class CorrelationTestUtils {
         RequestContextHolder.getRequestAttributes().setAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME,
                 new DefaultRequestCorrelation(requestId), RequestAttributes.SCOPE_REQUEST);
     }
+
+    /**
+     * Creates the request headers carrying the request correlation id.
+     *
+     * @param requestId the request id or {@code null} to omit the header
+     * @return the request headers
+     */
+    public static HttpHeaders requestIdHeaders(String requestId) {
+
+        final HttpHeaders headers = new HttpHeaders();
+        if (requestId != null) {
+            headers.set(RequestCorrelationConsts.HEADER_NAME, requestId);
+        }
+        return headers;
+    }
+
+    /**
+     * Asserts that every of the received request ids is the expected one.
+     *
+     * @param requestId  the expected request id
+     * @param requestIds the received request ids
+     */
+    public static void assertRequestIds(String requestId, List<String> requestIds) {
+
+        for (String receivedRequestId : requestIds) {
+            assertEquals(requestId, receivedRequestId);
+        }
+    }
 }
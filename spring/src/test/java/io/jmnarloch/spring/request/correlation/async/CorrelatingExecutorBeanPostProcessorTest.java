@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.async;
+
+import io.jmnarloch.spring.request.correlation.filter.DefaultRequestCorrelation;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationContextHolder;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationUtils;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.Collections;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link CorrelatingExecutorBeanPostProcessor} class.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelatingExecutorBeanPostProcessorTest {
+
+    private final CorrelatingExecutorBeanPostProcessor instance = new CorrelatingExecutorBeanPostProcessor();
+
+    private final Callable<String> task = new Callable<String>() {
+        @Override
+        public String call() throws Exception {
+            return RequestCorrelationUtils.getCurrentCorrelationId();
+        }
+    };
+
+    @After
+    public void tearDown() throws Exception {
+
+        RequestCorrelationContextHolder.resetRequestCorrelation();
+    }
+
+    @Test
+    public void shouldDecorateTaskExecutor() throws Exception {
+
+        // given
+        final ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.afterPropertiesSet();
+        RequestCorrelationContextHolder.setRequestCorrelation(new DefaultRequestCorrelation("id"));
+
+        try {
+            // when
+            final Object result = instance.postProcessAfterInitialization(executor, "taskExecutor");
+
+            // then
+            assertTrue(result instanceof ThreadPoolTaskExecutor);
+            assertEquals("id", ((ThreadPoolTaskExecutor) result).submit(task).get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldDecorateExecutorService() throws Exception {
+
+        // given
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>());
+        RequestCorrelationContextHolder.setRequestCorrelation(new DefaultRequestCorrelation("id"));
+
+        try {
+            // when
+            final Object bean = instance.postProcessAfterInitialization(executor, "executorService");
+
+            // then
+            assertTrue(bean instanceof ThreadPoolExecutor);
+            final ThreadPoolExecutor result = (ThreadPoolExecutor) bean;
+            assertEquals("id", result.submit(task).get(10, TimeUnit.SECONDS));
+            final Future<String> future = result.invokeAll(Collections.singletonList(task)).get(0);
+            assertEquals("id", future.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldNotDecorateArgumentsOfOtherMethods() throws Exception {
+
+        // given
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>());
+        final Runnable runnable = new Runnable() {
+            @Override
+            public void run() {
+            }
+        };
+        executor.getQueue().add(runnable);
+        RequestCorrelationContextHolder.setRequestCorrelation(new DefaultRequestCorrelation("id"));
+
+        try {
+            // when
+            final ThreadPoolExecutor result =
+                    (ThreadPoolExecutor) instance.postProcessAfterInitialization(executor, "executorService");
+
+            // then
+            assertTrue(result.remove(runnable));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldNotDecorateNonSubclassableExecutor() {
+
+        // given
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // when
+            final Object result = instance.postProcessAfterInitialization(executor, "executorService");
+
+            // then
+            assertSame(executor, result);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void shouldNotDecorateOtherBeans() {
+
+        // given
+        final Object bean = new Object();
+
+        // when
+        final Object result = instance.postProcessAfterInitialization(bean, "bean");
+
+        // then
+        assertSame(bean, result);
+    }
+}
@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.async;
+
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+import io.jmnarloch.spring.request.correlation.filter.DefaultRequestCorrelation;
+import io.jmnarloch.spring.request.correlation.logging.MdcCorrelationInterceptor;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationContextHolder;
+import org.junit.After;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.Collections;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Tests the {@link CorrelatingRunnable} and {@link CorrelatingCallable} classes.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelatingRunnableTest {
+
+    @After
+    public void tearDown() throws Exception {
+
+        RequestCorrelationContextHolder.resetRequestCorrelation();
+        MDC.clear();
+    }
+
+    @Test
+    public void shouldNotWrapWithoutCorrelation() {
+
+        // given
+        final Runnable task = new Runnable() {
+            @Override
+            public void run() {
+            }
+        };
+
+        // when
+        final Runnable result = CorrelatingRunnable.wrap(task);
+
+        // then
+        assertSame(task, result);
+    }
+
+    @Test
+    public void shouldRestoreCorrelation() {
+
+        // given
+        final RequestCorrelation correlation = new DefaultRequestCorrelation("id");
+        final AtomicReference<RequestCorrelation> executed = new AtomicReference<>();
+        RequestCorrelationContextHolder.setRequestCorrelation(correlation);
+        final Runnable task = CorrelatingRunnable.wrap(new Runnable() {
+            @Override
+            public void run() {
+                executed.set(RequestCorrelationContextHolder.getRequestCorrelation());
+            }
+        });
+        RequestCorrelationContextHolder.resetRequestCorrelation();
+
+        // when
+        task.run();
+
+        // then
+        assertSame(correlation, executed.get());
+        assertNull(RequestCorrelationContextHolder.getRequestCorrelation());
+    }
+
+    @Test
+    public void shouldRestoreCorrelationForCallable() throws Exception {
+
+        // given
+        RequestCorrelationContextHolder.setRequestCorrelation(new DefaultRequestCorrelation("id"));
+        final Callable<String> task = CorrelatingCallable.wrap(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return RequestCorrelationContextHolder.getRequestCorrelation().getRequestId();
+            }
+        });
+        RequestCorrelationContextHolder.resetRequestCorrelation();
+
+        // when
+        final String result = task.call();
+
+        // then
+        assertEquals("id", result);
+        assertNull(RequestCorrelationContextHolder.getRequestCorrelation());
+    }
+
+    @Test
+    public void shouldTriggerThreadBoundInterceptors() {
+
+        // given
+        final CorrelationTaskDecorator decorator = new CorrelationTaskDecorator(
+                Collections.singletonList(new MdcCorrelationInterceptor("correlationId")));
+        final AtomicReference<String> executed = new AtomicReference<>();
+        RequestCorrelationContextHolder.setRequestCorrelation(new DefaultRequestCorrelation("id"));
+        final Runnable task = decorator.decorate(new Runnable() {
+            @Override
+            public void run() {
+                executed.set(MDC.get("correlationId"));
+            }
+        });
+        RequestCorrelationContextHolder.resetRequestCorrelation();
+
+        // when
+        task.run();
+
+        // then
+        assertEquals("id", executed.get());
+        assertNull(MDC.get("correlationId"));
+    }
+}
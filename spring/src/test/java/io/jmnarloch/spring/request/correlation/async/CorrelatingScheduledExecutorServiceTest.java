@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.async;
+
+import io.jmnarloch.spring.request.correlation.filter.DefaultRequestCorrelation;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationContextHolder;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the {@link CorrelatingScheduledExecutorService} class.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelatingScheduledExecutorServiceTest {
+
+    private ScheduledExecutorService delegate;
+
+    private CorrelatingScheduledExecutorService instance;
+
+    private final Callable<String> task = new Callable<String>() {
+        @Override
+        public String call() throws Exception {
+            return RequestCorrelationUtils.getCurrentCorrelationId();
+        }
+    };
+
+    @Before
+    public void setUp() throws Exception {
+
+        delegate = Executors.newSingleThreadScheduledExecutor();
+        instance = new CorrelatingScheduledExecutorService(delegate);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+        RequestCorrelationContextHolder.resetRequestCorrelation();
+        delegate.shutdown();
+    }
+
+    @Test
+    public void shouldPropagateCorrelation() throws Exception {
+
+        // given
+        RequestCorrelationContextHolder.setRequestCorrelation(new DefaultRequestCorrelation("id"));
+
+        // expect
+        assertEquals("id", instance.submit(task).get(10, TimeUnit.SECONDS));
+        assertEquals("id", instance.schedule(task, 1, TimeUnit.MILLISECONDS).get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldNotLeakCorrelation() throws Exception {
+
+        // given
+        RequestCorrelationContextHolder.setRequestCorrelation(new DefaultRequestCorrelation("id"));
+        instance.submit(task).get(10, TimeUnit.SECONDS);
+        RequestCorrelationContextHolder.resetRequestCorrelation();
+
+        // expect
+        assertNull(instance.submit(task).get(10, TimeUnit.SECONDS));
+    }
+}
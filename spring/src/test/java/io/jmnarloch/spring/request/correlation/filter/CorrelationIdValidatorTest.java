@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.filter;
+
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties.Validation.Policy;
+import org.junit.Test;
+
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link CorrelationIdValidator} class.
+ *
+ * @author Jakub Narloch
+ */
+public class CorrelationIdValidatorTest {
+
+    private final CorrelationIdValidator instance = new CorrelationIdValidator(16, "-_.", Policy.REGENERATE);
+
+    @Test
+    public void shouldReturnValidIdAsIs() {
+
+        // given
+        final String correlationId = "Order-42_a.b";
+
+        // expect
+        assertSame(correlationId, instance.validate(correlationId));
+    }
+
+    @Test
+    public void shouldRejectDisallowedCharacters() {
+
+        // expect
+        assertNull(instance.validate("id with space"));
+        assertNull(instance.validate("id\r\nheader"));
+        assertNull(instance.validate("id:1"));
+        assertNull(instance.validate("\u0105"));
+    }
+
+    @Test
+    public void shouldRejectTooLongId() {
+
+        // expect
+        assertNull(instance.validate("0123456789abcdefg"));
+    }
+
+    @Test
+    public void shouldTruncateInvalidId() {
+
+        // given
+        final CorrelationIdValidator validator = new CorrelationIdValidator(8, "", Policy.TRUNCATE);
+
+        // expect
+        assertEquals("01234567", validator.validate("0123456789"));
+        assertEquals("abc", validator.validate("abc def"));
+        assertNull(validator.validate(" abc"));
+    }
+
+    @Test
+    public void shouldAllowUuids() {
+
+        // expect
+        assertTrue(new CorrelationIdValidator(36, "-", Policy.REGENERATE).isUuidAllowed());
+        assertFalse(new CorrelationIdValidator(35, "-", Policy.REGENERATE).isUuidAllowed());
+        assertFalse(new CorrelationIdValidator(36, "_", Policy.REGENERATE).isUuidAllowed());
+        final String uuid = UUID.randomUUID().toString();
+        assertSame(uuid, new CorrelationIdValidator(36, "-", Policy.REGENERATE).validate(uuid));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNonAsciiAllowedCharacters() {
+
+        // when
+        new CorrelationIdValidator(16, "\u00e9", Policy.REGENERATE);
+    }
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.logging;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Tests the {@link MdcCorrelationInterceptor} class.
+ *
+ * @author Jakub Narloch
+ */
+public class MdcCorrelationInterceptorTest {
+
+    private MdcCorrelationInterceptor instance;
+
+    @Before
+    public void setUp() throws Exception {
+
+        instance = new MdcCorrelationInterceptor("correlationId");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+
+        MDC.clear();
+    }
+
+    @Test
+    public void shouldPutCorrelationId() {
+
+        // when
+        instance.afterCorrelationIdSet("id");
+
+        // then
+        assertEquals("id", MDC.get("correlationId"));
+    }
+
+    @Test
+    public void shouldRemoveCorrelationId() {
+
+        // given
+        instance.afterCorrelationIdSet("id");
+
+        // when
+        instance.cleanUp("id");
+
+        // then
+        assertNull(MDC.get("correlationId"));
+    }
+
+    @Test
+    public void shouldRestorePreviousCorrelationId() {
+
+        // given
+        instance.afterCorrelationIdSet("outer");
+        instance.afterCorrelationIdSet("inner");
+
+        // when
+        instance.cleanUp("inner");
+
+        // then
+        assertEquals("outer", MDC.get("correlationId"));
+    }
+
+    @Test
+    public void shouldKeepSameCorrelationId() {
+
+        // given
+        instance.afterCorrelationIdSet("id");
+        instance.afterCorrelationIdSet("id");
+
+        // when
+        instance.cleanUp("id");
+
+        // then
+        assertEquals("id", MDC.get("correlationId"));
+    }
+
+    @Test
+    public void shouldKeepUnrelatedValue() {
+
+        // given
+        MDC.put("correlationId", "external");
+
+        // when
+        instance.cleanUp("id");
+
+        // then
+        assertEquals("external", MDC.get("correlationId"));
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.metrics;
+
+import io.jmnarloch.spring.request.correlation.generator.PooledCorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.generator.UuidGenerator;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.boot.actuate.metrics.Metric;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Tests the {@link RequestCorrelationMetrics} class.
+ *
+ * @author Jakub Narloch
+ */
+public class RequestCorrelationMetricsTest {
+
+    private RequestCorrelationMetrics instance;
+
+    @Before
+    public void setUp() throws Exception {
+
+        instance = new RequestCorrelationMetrics();
+    }
+
+    @Test
+    public void shouldRecordTimer() {
+
+        // when
+        instance.recordGeneration(300L);
+        instance.recordGeneration(100L);
+
+        // then
+        assertEquals(2, instance.getGeneration().getCount());
+        assertEquals(400L, instance.getGeneration().getTotalTime());
+        assertEquals(300L, instance.getGeneration().getMaxTime());
+    }
+
+    @Test
+    public void shouldRecordPropagation() {
+
+        // when
+        instance.recordHttpClientRequest(true);
+        instance.recordHttpClientRequest(false);
+        instance.recordHttpClientRequest(true);
+        instance.recordFeignRequest(false);
+
+        // then
+        assertEquals(2, instance.getHttpClientPropagated());
+        assertEquals(1, instance.getHttpClientMissing());
+        assertEquals(0, instance.getFeignPropagated());
+        assertEquals(1, instance.getFeignMissing());
+    }
+
+    @Test
+    public void shouldExposePublicMetrics() {
+
+        // given
+        instance.recordInbound();
+        instance.recordRejected();
+        instance.recordGeneration(2000000L);
+
+        // when
+        final Map<String, Number> result = new HashMap<>();
+        for (Metric<?> metric : new RequestCorrelationPublicMetrics(instance).metrics()) {
+            result.put(metric.getName(), metric.getValue());
+        }
+
+        // then
+        assertEquals(1L, result.get("request.correlation.inbound"));
+        assertEquals(1L, result.get("request.correlation.rejected"));
+        assertEquals(1L, result.get("request.correlation.generated"));
+        assertEquals(2.0, result.get("request.correlation.generated.totalTime").doubleValue(), 0.0);
+        assertEquals(0L, result.get("request.correlation.client.feign.missing"));
+    }
+
+    @Test
+    public void shouldExposePoolMetrics() {
+
+        // given
+        final PooledCorrelationIdGenerator generator = PooledCorrelationIdGenerator.create(new UuidGenerator(), 4, 1000);
+        generator.generate();
+
+        // when
+        final Map<String, Number> result = new HashMap<>();
+        for (Metric<?> metric : new RequestCorrelationPublicMetrics(instance, generator).metrics()) {
+            result.put(metric.getName(), metric.getValue());
+        }
+
+        // then
+        assertEquals(0, result.get("request.correlation.pool.depth"));
+        assertEquals(1L, result.get("request.correlation.pool.fallback"));
+    }
+}
@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.support;
+
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+import io.jmnarloch.spring.request.correlation.filter.DefaultRequestCorrelation;
+import org.junit.Test;
+
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Tests the {@link RequestCorrelationContextHolder} class.
+ *
+ * @author Jakub Narloch
+ */
+public class RequestCorrelationContextHolderTest {
+
+    @Test
+    public void shouldChooseSupportedContext() {
+
+        // when
+        final RequestCorrelationContext context = RequestCorrelationContextHolder.createContext(null);
+
+        // then
+        assertEquals(ScopedValueRequestCorrelationContext.isSupported(),
+                context instanceof ScopedValueRequestCorrelationContext);
+    }
+
+    @Test
+    public void shouldForceThreadLocalContext() {
+
+        // expect
+        assertTrue(RequestCorrelationContextHolder.createContext("thread-local")
+                instanceof ThreadLocalRequestCorrelationContext);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectUnknownContext() {
+
+        // when
+        RequestCorrelationContextHolder.createContext("inheritable");
+    }
+
+    @Test
+    public void shouldBindCorrelationForTheCall() throws Exception {
+
+        // given
+        final RequestCorrelation correlation = new DefaultRequestCorrelation("id");
+
+        // when
+        final String result = RequestCorrelationContextHolder.callWithCorrelation(correlation, new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return RequestCorrelationUtils.getCurrentCorrelationId();
+            }
+        });
+
+        // then
+        assertEquals("id", result);
+    }
+
+    @Test
+    public void shouldPreferBoundCorrelationOverDirectlySetOne() throws Exception {
+
+        // given
+        final RequestCorrelation correlation = new DefaultRequestCorrelation("id");
+        RequestCorrelationContextHolder.setRequestCorrelation(new DefaultRequestCorrelation("set"));
+
+        try {
+            // when
+            final RequestCorrelation result = RequestCorrelationContextHolder.callWithCorrelation(correlation,
+                    new Callable<RequestCorrelation>() {
+                        @Override
+                        public RequestCorrelation call() throws Exception {
+                            return RequestCorrelationContextHolder.getRequestCorrelation();
+                        }
+                    });
+
+            // then
+            assertSame(correlation, result);
+            assertEquals("set", RequestCorrelationContextHolder.getRequestCorrelation().getRequestId());
+        } finally {
+            RequestCorrelationContextHolder.resetRequestCorrelation();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.support;
+
+import io.jmnarloch.spring.request.correlation.AllocationMeter;
+import io.jmnarloch.spring.request.correlation.filter.DefaultRequestCorrelation;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Guards that the lookup of the current correlation id does not allocate.
+ *
+ * @author Jakub Narloch
+ */
+public class RequestCorrelationUtilsAllocationTest {
+
+    /**
+     * The allowed allocation per lookup, below single byte to tolerate only the measurement itself.
+     */
+    private static final double BYTES_PER_LOOKUP = 0.5;
+
+    private static final AllocationMeter.Operation LOOKUP = new AllocationMeter.Operation() {
+        @Override
+        public void run() {
+            assertNotNull(RequestCorrelationUtils.getCurrentCorrelationId());
+        }
+    };
+
+    @After
+    public void tearDown() throws Exception {
+
+        RequestCorrelationContextHolder.resetRequestCorrelation();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void shouldNotAllocateThreadBoundLookup() throws Exception {
+
+        // given
+        RequestCorrelationContextHolder.setRequestCorrelation(new DefaultRequestCorrelation("id"));
+
+        // when
+        final double allocated = AllocationMeter.measure(LOOKUP, 100000);
+
+        // then
+        assertTrue("Allocated " + allocated + " bytes per lookup", allocated <= BYTES_PER_LOOKUP);
+    }
+
+    @Test
+    public void shouldNotAllocateRequestAttributeLookup() throws Exception {
+
+        // given
+        final MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME, new DefaultRequestCorrelation("id"));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // when
+        final double allocated = AllocationMeter.measure(LOOKUP, 100000);
+
+        // then
+        assertTrue("Allocated " + allocated + " bytes per lookup", allocated <= BYTES_PER_LOOKUP);
+    }
+}
@@ -15,7 +15,9 @@
  */
 package io.jmnarloch.spring.request.correlation.support;
 
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
 import io.jmnarloch.spring.request.correlation.filter.DefaultRequestCorrelation;
+import io.jmnarloch.spring.request.correlation.generator.UuidRequestCorrelation;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -28,6 +30,7 @@ import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 /**
  * Tests the {@link RequestCorrelationUtils} class.
@@ -46,6 +49,7 @@ public class RequestCorrelationUtilsTest {
     public void tearDown() throws Exception {
 
         RequestContextHolder.resetRequestAttributes();
+        RequestCorrelationContextHolder.resetRequestCorrelation();
     }
 
     @Test
@@ -75,4 +79,34 @@ public class RequestCorrelationUtilsTest {
         // then
         assertEquals(requestId, correlationId);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldRetrieveCorrelation() {
+
+        // given
+        final UuidRequestCorrelation requestCorrelation = new UuidRequestCorrelation(1L, 2L);
+        RequestContextHolder.getRequestAttributes().setAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME,
+                requestCorrelation, RequestAttributes.SCOPE_REQUEST);
+
+        // when
+        final RequestCorrelation correlation = RequestCorrelationUtils.getCurrentCorrelation();
+
+        // then
+        assertSame(requestCorrelation, correlation);
+    }
+
+    @Test
+    public void shouldRetrieveThreadBoundCorrelation() {
+
+        // given
+        final UuidRequestCorrelation requestCorrelation = new UuidRequestCorrelation(1L, 2L);
+        RequestContextHolder.resetRequestAttributes();
+        RequestCorrelationContextHolder.setRequestCorrelation(requestCorrelation);
+
+        // when
+        final RequestCorrelation correlation = RequestCorrelationUtils.getCurrentCorrelation();
+
+        // then
+        assertSame(requestCorrelation, correlation);
+    }
+}
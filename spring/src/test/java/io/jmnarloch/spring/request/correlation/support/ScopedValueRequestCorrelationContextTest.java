@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.support;
+
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+import io.jmnarloch.spring.request.correlation.filter.DefaultRequestCorrelation;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+/**
+ * Tests the {@link ScopedValueRequestCorrelationContext} class. Skipped if the runtime does not support the scoped
+ * values.
+ *
+ * @author Jakub Narloch
+ */
+public class ScopedValueRequestCorrelationContextTest {
+
+    private ScopedValueRequestCorrelationContext instance;
+
+    @Before
+    public void setUp() throws Exception {
+
+        assumeTrue(ScopedValueRequestCorrelationContext.isSupported());
+        instance = new ScopedValueRequestCorrelationContext();
+    }
+
+    @Test
+    public void shouldReturnNullWhenUnbound() {
+
+        // expect
+        assertNull(instance.getRequestCorrelation());
+    }
+
+    @Test
+    public void shouldBindCorrelationForTheCall() throws Exception {
+
+        // given
+        final RequestCorrelation correlation = new DefaultRequestCorrelation("id");
+
+        // when
+        final RequestCorrelation result = instance.callWithCorrelation(correlation, new Callable<RequestCorrelation>() {
+            @Override
+            public RequestCorrelation call() throws Exception {
+                return instance.getRequestCorrelation();
+            }
+        });
+
+        // then
+        assertSame(correlation, result);
+        assertNull(instance.getRequestCorrelation());
+    }
+
+    @Test
+    public void shouldRebindNestedCorrelation() throws Exception {
+
+        // given
+        final RequestCorrelation outer = new DefaultRequestCorrelation("outer");
+        final RequestCorrelation inner = new DefaultRequestCorrelation("inner");
+
+        // when
+        final RequestCorrelation result = instance.callWithCorrelation(outer, new Callable<RequestCorrelation>() {
+            @Override
+            public RequestCorrelation call() throws Exception {
+                assertSame(inner, instance.callWithCorrelation(inner, new Callable<RequestCorrelation>() {
+                    @Override
+                    public RequestCorrelation call() throws Exception {
+                        return instance.getRequestCorrelation();
+                    }
+                }));
+                return instance.getRequestCorrelation();
+            }
+        });
+
+        // then
+        assertSame(outer, result);
+    }
+
+    @Test
+    public void shouldPropagateCheckedException() throws Exception {
+
+        try {
+            // when
+            instance.callWithCorrelation(new DefaultRequestCorrelation("id"), new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    throw new IOException("failure");
+                }
+            });
+            fail("IOException expected");
+        } catch (IOException e) {
+            // then
+            assertEquals("failure", e.getMessage());
+            assertNull(instance.getRequestCorrelation());
+        }
+    }
+
+    @Test
+    public void shouldNotLeakToOtherThreads() throws Exception {
+
+        // given
+        final AtomicReference<RequestCorrelation> result = new AtomicReference<>();
+
+        // when
+        instance.callWithCorrelation(new DefaultRequestCorrelation("id"), new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                final Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        result.set(instance.getRequestCorrelation());
+                    }
+                });
+                thread.start();
+                thread.join();
+                return null;
+            }
+        });
+
+        // then
+        assertNull(result.get());
+    }
+}
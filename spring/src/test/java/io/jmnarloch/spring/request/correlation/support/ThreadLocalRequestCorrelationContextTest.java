@@ -0,0 +1,82 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.support;
+
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+import io.jmnarloch.spring.request.correlation.filter.DefaultRequestCorrelation;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+/**
+ * Tests the {@link ThreadLocalRequestCorrelationContext} class.
+ *
+ * @author Jakub Narloch
+ */
+public class ThreadLocalRequestCorrelationContextTest {
+
+    private final ThreadLocalRequestCorrelationContext instance = new ThreadLocalRequestCorrelationContext();
+
+    @Test
+    public void shouldBindCorrelationForTheCall() throws Exception {
+
+        // given
+        final RequestCorrelation correlation = new DefaultRequestCorrelation("id");
+
+        // when
+        final RequestCorrelation result = instance.callWithCorrelation(correlation, new Callable<RequestCorrelation>() {
+            @Override
+            public RequestCorrelation call() throws Exception {
+                return instance.getRequestCorrelation();
+            }
+        });
+
+        // then
+        assertSame(correlation, result);
+        assertNull(instance.getRequestCorrelation());
+    }
+
+    @Test
+    public void shouldRestorePreviousCorrelation() throws Exception {
+
+        // given
+        final RequestCorrelation previous = new DefaultRequestCorrelation("previous");
+        instance.setRequestCorrelation(previous);
+
+        try {
+            // when
+            instance.callWithCorrelation(new DefaultRequestCorrelation("id"), new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    throw new IOException("failure");
+                }
+            });
+            fail("IOException expected");
+        } catch (IOException e) {
+            // then
+            assertEquals("failure", e.getMessage());
+            assertSame(previous, instance.getRequestCorrelation());
+        } finally {
+            instance.resetRequestCorrelation();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Runs the benchmarks with 1, N and 2N threads, where N is the number of available processors, together with the
+ * allocation profiler. The results of every run are stored as JSON, so that they can be compared between releases.
+ *
+ * Usage: {@code BenchmarkRunner <reports directory> [include regexp]}
+ *
+ * @author Jakub Narloch
+ */
+public final class BenchmarkRunner {
+
+    /**
+     * Creates new instance of {@link BenchmarkRunner} class.
+     */
+    private BenchmarkRunner() {
+        // private constructor
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args the reports directory and optional benchmark include pattern
+     * @throws RunnerException if any error occurs
+     */
+    public static void main(String[] args) throws RunnerException {
+
+        final File reportsDir = new File(args.length > 0 ? args[0] : "build/reports/jmh");
+        final String include = args.length > 1 ? args[1] : ".*Benchmark.*";
+        if (!reportsDir.isDirectory() && !reportsDir.mkdirs()) {
+            throw new IllegalStateException("Could not create the reports directory: " + reportsDir);
+        }
+
+        // on the single processor machine N is the same as 1
+        final int processors = Runtime.getRuntime().availableProcessors();
+        final Set<Integer> threadCounts = new LinkedHashSet<>(Arrays.asList(1, processors, 2 * processors));
+        for (int threads : threadCounts) {
+            final ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class)
+                    .resultFormat(ResultFormatType.JSON)
+                    .result(new File(reportsDir, "results-" + threads + "-threads.json").getPath());
+            new Runner(options.build()).run();
+        }
+    }
+}
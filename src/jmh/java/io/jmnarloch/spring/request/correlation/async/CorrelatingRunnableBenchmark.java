@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.async;
+
+import io.jmnarloch.spring.request.correlation.filter.DefaultRequestCorrelation;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationContextHolder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost added to every task by capturing the correlation at submit time and restoring it on execution.
+ *
+ * @author Jakub Narloch
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorrelatingRunnableBenchmark {
+
+    private Runnable task;
+
+    @Setup
+    public void setUp(final Blackhole blackhole) {
+
+        task = new Runnable() {
+            @Override
+            public void run() {
+                blackhole.consume(RequestCorrelationContextHolder.getRequestCorrelation());
+            }
+        };
+        RequestCorrelationContextHolder.setRequestCorrelation(new DefaultRequestCorrelation("id"));
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        RequestCorrelationContextHolder.resetRequestCorrelation();
+    }
+
+    @Benchmark
+    public void plainTask() {
+
+        task.run();
+    }
+
+    @Benchmark
+    public void correlatingTask() {
+
+        CorrelatingRunnable.wrap(task).run();
+    }
+}
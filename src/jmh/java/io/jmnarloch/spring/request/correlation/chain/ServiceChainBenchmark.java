@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.chain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the latency of the call through the {@link ServiceChain} with and without the request correlation. The
+ * latency the propagation adds per hop is the difference between the two, divided by the number of hops.
+ *
+ * @author Jakub Narloch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ServiceChainBenchmark {
+
+    @Param({"1", "3", "6"})
+    private int hops;
+
+    @Param({"true", "false"})
+    private boolean correlated;
+
+    private ServiceChain chain;
+
+    private String requestId;
+
+    @Setup
+    public void setUp() {
+
+        chain = new ServiceChain(hops, correlated);
+        chain.start();
+        requestId = UUID.randomUUID().toString();
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        chain.close();
+    }
+
+    @Benchmark
+    public List<String> call() {
+
+        return chain.call(requestId);
+    }
+}
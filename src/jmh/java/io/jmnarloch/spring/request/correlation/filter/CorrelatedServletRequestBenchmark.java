@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.filter;
+
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConsts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of wrapping the request with {@link CorrelatedServletRequest}, compared with the previous map
+ * based wrapper. Run with the {@code gc} profiler to see the allocation per request.
+ *
+ * @author Jakub Narloch
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorrelatedServletRequestBenchmark {
+
+    private static final String HEADER_NAME = RequestCorrelationConsts.HEADER_NAME;
+
+    private MockHttpServletRequest request;
+
+    private RequestCorrelation correlation;
+
+    @Setup
+    public void setUp() {
+
+        request = new MockHttpServletRequest();
+        request.addHeader("Host", "localhost");
+        request.addHeader("Accept", "application/json");
+        request.addHeader("User-Agent", "benchmark");
+        correlation = new DefaultRequestCorrelation(UUID.randomUUID().toString());
+    }
+
+    @Benchmark
+    public void correlatedRequest(Blackhole blackhole) {
+
+        readHeaders(new CorrelatedServletRequest(request, HEADER_NAME, correlation), blackhole);
+    }
+
+    @Benchmark
+    public void mapBasedRequest(Blackhole blackhole) {
+
+        final MapBasedServletRequest req = new MapBasedServletRequest(request);
+        req.setHeader(HEADER_NAME, correlation.getRequestId());
+        readHeaders(req, blackhole);
+    }
+
+    private static void readHeaders(HttpServletRequest request, Blackhole blackhole) {
+
+        blackhole.consume(request.getHeader(HEADER_NAME));
+        blackhole.consume(request.getHeader("Accept"));
+        consume(request.getHeaders(HEADER_NAME), blackhole);
+        consume(request.getHeaderNames(), blackhole);
+    }
+
+    private static void consume(Enumeration<String> values, Blackhole blackhole) {
+
+        while (values.hasMoreElements()) {
+            blackhole.consume(values.nextElement());
+        }
+    }
+
+    /**
+     * The previous implementation of the correlated request, kept as the baseline.
+     */
+    private static class MapBasedServletRequest extends HttpServletRequestWrapper {
+
+        private final Map<String, String> additionalHeaders = new ConcurrentHashMap<>();
+
+        MapBasedServletRequest(HttpServletRequest request) {
+            super(request);
+        }
+
+        void setHeader(String key, String value) {
+            this.additionalHeaders.put(key, value);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (additionalHeaders.containsKey(name)) {
+                return additionalHeaders.get(name);
+            }
+            return super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            final List<String> values = new ArrayList<>();
+            if (additionalHeaders.containsKey(name)) {
+                values.add(additionalHeaders.get(name));
+            } else {
+                values.addAll(Collections.list(super.getHeaders(name)));
+            }
+            return Collections.enumeration(values);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            final Set<String> names = new HashSet<>();
+            names.addAll(additionalHeaders.keySet());
+            names.addAll(Collections.list(super.getHeaderNames()));
+            return Collections.enumeration(names);
+        }
+    }
+}
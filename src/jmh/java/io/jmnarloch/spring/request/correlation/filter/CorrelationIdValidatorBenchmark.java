@@ -0,0 +1,65 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.filter;
+
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties.Validation.Policy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Measures the {@link CorrelationIdValidator} on the valid and the invalid ids, compared with the equivalent regular
+ * expression.
+ *
+ * @author Jakub Narloch
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorrelationIdValidatorBenchmark {
+
+    @Param({"order-42:eu-west-1", "0af7651916cd43dd8448eb211c80319c", "id with spaces"})
+    private String correlationId;
+
+    private final CorrelationIdValidator validator = new CorrelationIdValidator(128, "-_.:+/=", Policy.REGENERATE);
+
+    private final Pattern pattern = Pattern.compile("[A-Za-z0-9\\-_.:+/=]{1,128}");
+
+    @Benchmark
+    public String asciiScan() {
+
+        return validator.validate(correlationId);
+    }
+
+    @Benchmark
+    public boolean regularExpression() {
+
+        return pattern.matcher(correlationId).matches();
+    }
+}
@@ -0,0 +1,76 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.filter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link RequestPathMatcher} against the typical exclusions, compared with matching the same patterns
+ * one by one through the Spring's {@link AntPathMatcher}.
+ *
+ * @author Jakub Narloch
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestPathMatcherBenchmark {
+
+    private static final List<String> EXCLUDE_PATTERNS = Arrays.asList(
+            "/health", "/info", "/metrics", "/favicon.ico", "/static/**", "/webjars/**", "/css/**", "/js/**");
+
+    @Param({"/health", "/static/js/app.js", "/api/orders/42"})
+    private String path;
+
+    private final RequestPathMatcher matcher =
+            new RequestPathMatcher(Collections.<String>emptyList(), EXCLUDE_PATTERNS);
+
+    private final AntPathMatcher antPathMatcher = new AntPathMatcher();
+
+    @Benchmark
+    public boolean prefixTrie() {
+
+        return matcher.isCorrelated(path, 0);
+    }
+
+    @Benchmark
+    public boolean antPathMatcher() {
+
+        for (String pattern : EXCLUDE_PATTERNS) {
+            if (antPathMatcher.match(pattern, path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
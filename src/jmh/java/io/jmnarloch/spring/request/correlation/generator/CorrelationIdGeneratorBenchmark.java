@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.generator;
+
+import io.jmnarloch.spring.request.correlation.api.BinaryCorrelationIdGenerator;
+import io.jmnarloch.spring.request.correlation.api.CorrelationIdGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the correlation id generators. The generator is shared by all of the benchmark threads,
+ * the same way it is shared by the request threads.
+ *
+ * @author Jakub Narloch
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CorrelationIdGeneratorBenchmark {
+
+    @Param({"uuid", "thread-local-uuid", "time-ordered-uuid", "snowflake", "pooled-uuid"})
+    private String generatorType;
+
+    private CorrelationIdGenerator generator;
+
+    @Setup
+    public void setUp() {
+
+        switch (generatorType) {
+            case "thread-local-uuid":
+                generator = new ThreadLocalUuidGenerator();
+                break;
+            case "time-ordered-uuid":
+                generator = new TimeOrderedUuidGenerator();
+                break;
+            case "snowflake":
+                generator = new SnowflakeGenerator(1);
+                break;
+            case "pooled-uuid":
+                final PooledCorrelationIdGenerator pooledGenerator =
+                        PooledCorrelationIdGenerator.create(new UuidGenerator(), 1024, 10);
+                pooledGenerator.start();
+                generator = pooledGenerator;
+                break;
+            default:
+                generator = new UuidGenerator();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+
+        if (generator instanceof PooledCorrelationIdGenerator) {
+            ((PooledCorrelationIdGenerator) generator).close();
+        }
+    }
+
+    @Benchmark
+    public String generate() {
+
+        return generator.generate();
+    }
+
+    @Benchmark
+    public Object generateCorrelation() {
+
+        if (generator instanceof BinaryCorrelationIdGenerator) {
+            return ((BinaryCorrelationIdGenerator) generator).generateCorrelation();
+        }
+        return generator.generate();
+    }
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.http;
+
+import io.jmnarloch.spring.request.correlation.generator.ThreadLocalUuidGenerator;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConsts;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationContextHolder;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ClientHttpRequestCorrelationInterceptor#intercept} with both of the header encodings. The execution
+ * removes the propagated header, so that the same request can be reused.
+ *
+ * @author Jakub Narloch
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClientHttpRequestCorrelationInterceptorBenchmark {
+
+    private static final byte[] BODY = new byte[0];
+
+    @Param({"UUID", "BASE64URL"})
+    private RequestCorrelationProperties.HeaderEncoding headerEncoding;
+
+    private ClientHttpRequestCorrelationInterceptor interceptor;
+
+    private HttpRequest request;
+
+    private ClientHttpRequestExecution execution;
+
+    @Setup
+    public void setUp() {
+
+        final RequestCorrelationProperties properties = new RequestCorrelationProperties();
+        properties.setHeaderEncoding(headerEncoding);
+        interceptor = new ClientHttpRequestCorrelationInterceptor(properties);
+        request = new MockClientHttpRequest(HttpMethod.GET, URI.create("http://localhost/"));
+        final ClientHttpResponse response = new MockClientHttpResponse(BODY, HttpStatus.OK);
+        execution = new ClientHttpRequestExecution() {
+            @Override
+            public ClientHttpResponse execute(HttpRequest request, byte[] body) throws IOException {
+                request.getHeaders().remove(RequestCorrelationConsts.HEADER_NAME);
+                return response;
+            }
+        };
+        RequestCorrelationContextHolder.setRequestCorrelation(new ThreadLocalUuidGenerator().generateCorrelation());
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        RequestCorrelationContextHolder.resetRequestCorrelation();
+    }
+
+    @Benchmark
+    public ClientHttpResponse intercept() throws IOException {
+
+        return interceptor.intercept(request, BODY, execution);
+    }
+}
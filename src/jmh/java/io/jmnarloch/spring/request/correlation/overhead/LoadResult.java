@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.overhead;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The result of the single {@link OpenLoopLoadGenerator} run.
+ *
+ * @author Jakub Narloch
+ */
+class LoadResult {
+
+    /**
+     * The sorted latencies in nanoseconds.
+     */
+    private final long[] latencies;
+
+    /**
+     * The number of failed requests.
+     */
+    private final long errors;
+
+    /**
+     * The duration of the run in nanoseconds.
+     */
+    private final long duration;
+
+    /**
+     * Creates new instance of {@link LoadResult} class.
+     *
+     * @param latencies the latencies in nanoseconds
+     * @param errors    the number of failed requests
+     * @param duration  the duration of the run in nanoseconds
+     */
+    LoadResult(long[] latencies, long errors, long duration) {
+        this.latencies = latencies.clone();
+        this.errors = errors;
+        this.duration = duration;
+        Arrays.sort(this.latencies);
+    }
+
+    /**
+     * Retrieves the latency percentile in microseconds.
+     *
+     * @param percentile the percentile, for instance {@code 99.9}
+     * @return the latency
+     */
+    double getPercentile(double percentile) {
+
+        final int index = (int) Math.ceil(percentile / 100.0 * latencies.length) - 1;
+        return toMicros(latencies[Math.max(0, Math.min(index, latencies.length - 1))]);
+    }
+
+    /**
+     * Retrieves the maximum latency in microseconds.
+     *
+     * @return the maximum latency
+     */
+    double getMax() {
+        return toMicros(latencies[latencies.length - 1]);
+    }
+
+    /**
+     * Retrieves the achieved throughput in requests per second.
+     *
+     * @return the throughput
+     */
+    double getThroughput() {
+        return latencies.length / (duration / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Retrieves the number of failed requests.
+     *
+     * @return the number of failed requests
+     */
+    long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Converts the nanoseconds into the fractional microseconds.
+     *
+     * @param nanos the nanoseconds
+     * @return the microseconds
+     */
+    private static double toMicros(long nanos) {
+        return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.overhead;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sends the requests at the fixed rate, regardless of how fast the server responds. Every request has its intended
+ * start time on the schedule and the latency is measured from that time, not from the moment the request was actually
+ * sent. A stalled server therefore shows up in the latency of every request that should have been sent during the
+ * stall, instead of silently lowering the request rate (the coordinated omission).
+ *
+ * @author Jakub Narloch
+ */
+class OpenLoopLoadGenerator {
+
+    /**
+     * The buffer used to drain the responses.
+     */
+    private static final int BUFFER_SIZE = 1024;
+
+    /**
+     * The target url.
+     */
+    private final URL url;
+
+    /**
+     * The number of sending threads, high enough to never limit the rate.
+     */
+    private final int connections;
+
+    /**
+     * Creates new instance of {@link OpenLoopLoadGenerator} class.
+     *
+     * @param url         the target url
+     * @param connections the number of sending threads
+     */
+    OpenLoopLoadGenerator(URL url, int connections) {
+        this.url = url;
+        this.connections = connections;
+    }
+
+    /**
+     * Sends the requests at the given rate.
+     *
+     * @param rate     the number of requests per second
+     * @param duration the duration in seconds
+     * @return the load result
+     * @throws InterruptedException if interrupted while waiting for the completion
+     */
+    LoadResult run(int rate, int duration) throws InterruptedException {
+
+        final int requests = rate * duration;
+        final long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        final long[] latencies = new long[requests];
+        final AtomicInteger next = new AtomicInteger();
+        final AtomicLong errors = new AtomicLong();
+        final long start = System.nanoTime();
+
+        final Thread[] workers = new Thread[connections];
+        for (int ind = 0; ind < workers.length; ind++) {
+            workers[ind] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    int request;
+                    while ((request = next.getAndIncrement()) < requests) {
+                        final long intendedStart = start + request * interval;
+                        long delay;
+                        while ((delay = intendedStart - System.nanoTime()) > 0) {
+                            LockSupport.parkNanos(delay);
+                        }
+                        if (!send()) {
+                            errors.incrementAndGet();
+                        }
+                        latencies[request] = System.nanoTime() - intendedStart;
+                    }
+                }
+            }, "load-generator-" + ind);
+            workers[ind].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return new LoadResult(latencies, errors.get(), System.nanoTime() - start);
+    }
+
+    /**
+     * Sends single request and drains the response, so that the connection is kept alive.
+     *
+     * @return whether the request succeeded
+     */
+    private boolean send() {
+
+        try {
+            final HttpURLConnection connection = (HttpURLConnection) url.openConnection();
+            final boolean success = connection.getResponseCode() == HttpURLConnection.HTTP_OK;
+            try (InputStream input = success ? connection.getInputStream() : connection.getErrorStream()) {
+                final byte[] buffer = new byte[BUFFER_SIZE];
+                while (input != null && input.read(buffer) != -1) {
+                    // drains the response
+                }
+            }
+            return success;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+}
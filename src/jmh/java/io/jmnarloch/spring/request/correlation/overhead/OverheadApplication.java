@@ -0,0 +1,90 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.overhead;
+
+import io.jmnarloch.spring.request.correlation.api.EnableRequestCorrelation;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * The applications driven by the {@link OverheadBenchmark}. The {@code /proxy} endpoint calls the {@code /ping}
+ * endpoint of the same server through the Spring configured {@link RestTemplate}, so that every measured request
+ * passes the correlation filter twice and the client interceptor once.
+ *
+ * @author Jakub Narloch
+ */
+public final class OverheadApplication {
+
+    /**
+     * Creates new instance of {@link OverheadApplication} class.
+     */
+    private OverheadApplication() {
+        // private constructor
+    }
+
+    /**
+     * The application without the request correlation.
+     */
+    @Configuration
+    @EnableAutoConfiguration
+    @Import(Endpoints.class)
+    public static class Plain {
+    }
+
+    /**
+     * The application with the request correlation enabled.
+     */
+    @Configuration
+    @EnableAutoConfiguration
+    @EnableRequestCorrelation
+    @Import(Endpoints.class)
+    public static class Correlated {
+    }
+
+    /**
+     * The benchmarked endpoints.
+     */
+    @RestController
+    public static class Endpoints {
+
+        private final RestTemplate restTemplate = new RestTemplate();
+
+        @Bean
+        public RestTemplate restTemplate() {
+            return restTemplate;
+        }
+
+        @RequestMapping(value = "/ping", method = RequestMethod.GET)
+        public String ping() {
+
+            return "pong";
+        }
+
+        @RequestMapping(value = "/proxy", method = RequestMethod.GET)
+        public String proxy() {
+
+            return restTemplate.getForObject(
+                    ServletUriComponentsBuilder.fromCurrentRequest().replacePath("/ping").toUriString(), String.class);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.overhead;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.embedded.EmbeddedWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URL;
+
+/**
+ * Measures the per request overhead of this starter in the embedded Tomcat. Every scenario starts the application on
+ * the random local port and drives its {@code /proxy} endpoint at the fixed rate, first to warm up and then to
+ * measure. All of the scenarios are run once before the measurement, so that the first one does not pay for the
+ * JIT compilation of the shared code. The latency percentiles are reported together with their difference from the scenario without the
+ * request correlation.
+ *
+ * Usage: {@code OverheadBenchmark [rate per second] [duration in seconds] [warm up in seconds]}
+ *
+ * @author Jakub Narloch
+ */
+public final class OverheadBenchmark {
+
+    /**
+     * The number of the load generator threads.
+     */
+    private static final int CONNECTIONS = 64;
+
+    /**
+     * The benchmarked scenarios.
+     */
+    enum Scenario {
+
+        /**
+         * Without the request correlation.
+         */
+        BASELINE(OverheadApplication.Plain.class),
+
+        /**
+         * With the correlation filter, but without the client propagation.
+         */
+        FILTER(OverheadApplication.Correlated.class, "--request.correlation.client.http.enabled=false"),
+
+        /**
+         * With the correlation filter and the {@link org.springframework.web.client.RestTemplate} propagation.
+         */
+        FILTER_AND_CLIENT(OverheadApplication.Correlated.class);
+
+        private final Class<?> application;
+
+        private final String[] properties;
+
+        Scenario(Class<?> application, String... properties) {
+            this.application = application;
+            this.properties = properties;
+        }
+    }
+
+    /**
+     * Creates new instance of {@link OverheadBenchmark} class.
+     */
+    private OverheadBenchmark() {
+        // private constructor
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the rate, duration and warm up duration
+     * @throws Exception if any error occurs
+     */
+    public static void main(String[] args) throws Exception {
+
+        final int rate = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        final int duration = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        final int warmUp = args.length > 2 ? Integer.parseInt(args[2]) : 15;
+
+        // keeps the connections of every load generator thread alive
+        System.setProperty("http.maxConnections", String.valueOf(CONNECTIONS));
+
+        System.out.printf("Rate: %d req/s, duration: %d s, warm up: %d s%n", rate, duration, warmUp);
+        System.out.printf("%-20s %12s %10s %10s %10s %10s %8s%n",
+                "Scenario", "Throughput", "p50 [us]", "p99 [us]", "p99.9 [us]", "max [us]", "Errors");
+
+        for (Scenario scenario : Scenario.values()) {
+            run(scenario, rate, warmUp, 0);
+        }
+
+        LoadResult baseline = null;
+        for (Scenario scenario : Scenario.values()) {
+            final LoadResult result = run(scenario, rate, duration, warmUp);
+            System.out.printf("%-20s %12.1f %10.1f %10.1f %10.1f %10.1f %8d%n", scenario, result.getThroughput(),
+                    result.getPercentile(50), result.getPercentile(99), result.getPercentile(99.9),
+                    result.getMax(), result.getErrors());
+            if (baseline == null) {
+                baseline = result;
+            } else {
+                System.out.printf("%-20s %12s %+10.1f %+10.1f %+10.1f%n", "  overhead", "",
+                        result.getPercentile(50) - baseline.getPercentile(50),
+                        result.getPercentile(99) - baseline.getPercentile(99),
+                        result.getPercentile(99.9) - baseline.getPercentile(99.9));
+            }
+        }
+    }
+
+    /**
+     * Runs single scenario.
+     *
+     * @param scenario the scenario
+     * @param rate     the number of requests per second
+     * @param duration the duration in seconds
+     * @param warmUp   the warm up duration in seconds
+     * @return the measured result
+     * @throws Exception if any error occurs
+     */
+    private static LoadResult run(Scenario scenario, int rate, int duration, int warmUp) throws Exception {
+
+        final SpringApplication application = new SpringApplication(scenario.application);
+        application.setShowBanner(false);
+        final String[] args = new String[scenario.properties.length + 1];
+        args[0] = "--server.port=0";
+        System.arraycopy(scenario.properties, 0, args, 1, scenario.properties.length);
+
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            final int port = ((EmbeddedWebApplicationContext) context).getEmbeddedServletContainer().getPort();
+            final OpenLoopLoadGenerator generator =
+                    new OpenLoopLoadGenerator(new URL("http://127.0.0.1:" + port + "/proxy"), CONNECTIONS);
+            if (warmUp > 0) {
+                generator.run(rate, warmUp);
+            }
+            return generator.run(rate, duration);
+        }
+    }
+}
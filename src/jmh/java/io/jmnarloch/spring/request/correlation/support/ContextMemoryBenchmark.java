@@ -0,0 +1,234 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.support;
+
+import io.jmnarloch.spring.request.correlation.api.RequestCorrelation;
+import io.jmnarloch.spring.request.correlation.generator.ThreadLocalUuidGenerator;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the heap retained per million of concurrent requests, each processed by its own virtual thread, for every
+ * {@link RequestCorrelationContext} backend. Every request binds its correlation, looks it up and blocks until all of
+ * the requests are in flight, at which point the heap is measured. The difference from the baseline, that does not
+ * bind the correlation at all, is the cost of the backend. Requires Java 21.
+ *
+ * Usage: {@code ContextMemoryBenchmark [concurrent requests]}
+ *
+ * @author Jakub Narloch
+ */
+public final class ContextMemoryBenchmark {
+
+    /**
+     * The default number of the concurrent requests.
+     */
+    private static final int DEFAULT_REQUESTS = 100000;
+
+    /**
+     * The number of the requests the results are scaled to.
+     */
+    private static final double MILLION = 1000000.0;
+
+    /**
+     * The number of bytes in megabyte.
+     */
+    private static final double MEGABYTE = 1024.0 * 1024.0;
+
+    /**
+     * The benchmarked backends.
+     */
+    enum Backend {
+
+        /**
+         * Without the correlation context.
+         */
+        BASELINE,
+
+        /**
+         * The {@link ThreadLocalRequestCorrelationContext}.
+         */
+        THREAD_LOCAL,
+
+        /**
+         * The {@link ScopedValueRequestCorrelationContext}.
+         */
+        SCOPED_VALUE;
+
+        RequestCorrelationContext createContext() {
+
+            switch (this) {
+                case THREAD_LOCAL:
+                    return new ThreadLocalRequestCorrelationContext();
+                case SCOPED_VALUE:
+                    return ScopedValueRequestCorrelationContext.isSupported() ?
+                            new ScopedValueRequestCorrelationContext() : null;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Creates new instance of {@link ContextMemoryBenchmark} class.
+     */
+    private ContextMemoryBenchmark() {
+        // private constructor
+    }
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args the arguments
+     * @throws Exception if any error occurs
+     */
+    public static void main(String[] args) throws Exception {
+
+        final int requests = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_REQUESTS;
+        if (newVirtualThreadExecutor() == null) {
+            System.out.println("The benchmark requires the virtual threads, available since Java 21");
+            return;
+        }
+
+        // warms up all of the backends first
+        for (Backend backend : Backend.values()) {
+            measure(backend, Math.min(requests, DEFAULT_REQUESTS / 10));
+        }
+
+        System.out.printf("%-14s %16s %16s%n", "backend", "MB per 1M", "overhead MB");
+        double baseline = 0;
+        for (Backend backend : Backend.values()) {
+            if (backend != Backend.BASELINE && backend.createContext() == null) {
+                System.out.printf("%-14s %16s%n", backend, "not supported");
+                continue;
+            }
+
+            final double perMillion = measure(backend, requests) * MILLION / requests / MEGABYTE;
+            if (backend == Backend.BASELINE) {
+                baseline = perMillion;
+            }
+            System.out.printf("%-14s %16.1f %16.1f%n", backend, perMillion, perMillion - baseline);
+        }
+    }
+
+    /**
+     * Measures the heap retained by the concurrent requests.
+     *
+     * @param backend  the backend
+     * @param requests the number of the concurrent requests
+     * @return the retained heap in bytes
+     * @throws Exception if any error occurs
+     */
+    private static long measure(Backend backend, int requests) throws Exception {
+
+        final RequestCorrelationContext context = backend.createContext();
+        final ThreadLocalUuidGenerator generator = new ThreadLocalUuidGenerator();
+        final CountDownLatch started = new CountDownLatch(requests);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final long before = usedHeap();
+        final ExecutorService executor = newVirtualThreadExecutor();
+        try {
+            for (int ind = 0; ind < requests; ind++) {
+                executor.execute(new Request(context, generator.generateCorrelation(), started, release));
+            }
+            started.await();
+            return usedHeap() - before;
+        } finally {
+            release.countDown();
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    /**
+     * Retrieves the used heap, after the garbage collection.
+     *
+     * @return the used heap in bytes
+     */
+    private static long usedHeap() {
+
+        final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int ind = 0; ind < 3; ind++) {
+            memory.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Creates the executor starting new virtual thread per task.
+     *
+     * @return the executor or {@code null} if the virtual threads are not supported
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The simulated request, that binds the correlation and blocks until released.
+     */
+    private static final class Request implements Runnable, Callable<RequestCorrelation> {
+
+        private final RequestCorrelationContext context;
+
+        private final RequestCorrelation correlation;
+
+        private final CountDownLatch started;
+
+        private final CountDownLatch release;
+
+        Request(RequestCorrelationContext context, RequestCorrelation correlation, CountDownLatch started,
+                CountDownLatch release) {
+            this.context = context;
+            this.correlation = correlation;
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public void run() {
+
+            try {
+                if (context == null) {
+                    call();
+                } else {
+                    context.callWithCorrelation(correlation, this);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public RequestCorrelation call() throws Exception {
+
+            final RequestCorrelation result = context != null ? context.getRequestCorrelation() : correlation;
+            started.countDown();
+            release.await();
+            return result;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.support;
+
+import io.jmnarloch.spring.request.correlation.filter.DefaultRequestCorrelation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lookup of the current correlation id, either bound to the thread by the filter or only available as
+ * the request attribute.
+ *
+ * @author Jakub Narloch
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestCorrelationUtilsBenchmark {
+
+    @Param({"thread", "request"})
+    private String binding;
+
+    @Setup
+    public void setUp() {
+
+        final DefaultRequestCorrelation correlation = new DefaultRequestCorrelation("id");
+        if ("thread".equals(binding)) {
+            RequestCorrelationContextHolder.setRequestCorrelation(correlation);
+        } else {
+            final MockHttpServletRequest request = new MockHttpServletRequest();
+            request.setAttribute(RequestCorrelationConsts.ATTRIBUTE_NAME, correlation);
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+
+        RequestCorrelationContextHolder.resetRequestCorrelation();
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Benchmark
+    public String getCurrentCorrelationId() {
+
+        return RequestCorrelationUtils.getCurrentCorrelationId();
+    }
+}
@@ -39,6 +39,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.AsyncRestTemplate;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -79,6 +80,14 @@ public class Demo {
         assertNotNull(requestId);
     }
 
+    @Test
+    public void testAsyncRestTemplate() {
+
+        // when
+        final String requestId = restTemplate.getForObject(url("/async"), String.class);
+        assertNotNull(requestId);
+    }
+
     @Test
     public void testFeign() {
 
@@ -109,6 +118,9 @@ public class Demo {
         @Autowired
         private RestTemplate template;
 
+        @Autowired
+        private AsyncRestTemplate asyncTemplate;
+
         @Autowired
         private CorrelatedFeignClient feignClient;
 
@@ -117,6 +129,11 @@ public class Demo {
             return new RestTemplate();
         }
 
+        @Bean
+        public AsyncRestTemplate asyncRestTemplate() {
+            return new AsyncRestTemplate();
+        }
+
         @RequestMapping(value = "/", method = RequestMethod.GET)
         public ResponseEntity<String> headerEcho(@RequestHeader(value = "X-Request-Id") String requestId) {
 
@@ -133,6 +150,17 @@ public class Demo {
             return ResponseEntity.ok(response);
         }
 
+        @RequestMapping(value = "/async", method = RequestMethod.GET)
+        public ResponseEntity<String> propagateAsyncRestTemplate(@RequestHeader(value = "X-Request-Id") String requestId)
+                throws Exception {
+
+            final String response = asyncTemplate.getForEntity(url("/"), String.class).get().getBody();
+            if(!requestId.equals(response)) {
+                return new ResponseEntity<String>(HttpStatus.INTERNAL_SERVER_ERROR);
+            }
+            return ResponseEntity.ok(response);
+        }
+
         @RequestMapping(value = "/feign", method = RequestMethod.GET)
         public ResponseEntity propagateFeignClient(@RequestHeader(value = "X-Request-Id") String requestId) {
 
@@ -0,0 +1,115 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.chain;
+
+import io.jmnarloch.spring.request.correlation.api.EnableRequestCorrelation;
+import io.jmnarloch.spring.request.correlation.support.RequestCorrelationConsts;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.cloud.netflix.feign.EnableFeignClients;
+import org.springframework.cloud.netflix.feign.FeignClient;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * The single service of the {@link ServiceChain}. The {@code /hop} endpoint returns the correlation id it has
+ * received, followed by the response of the next service in the chain, called either through the Spring configured
+ * {@link RestTemplate} or through the Feign client configured by {@link EnableFeignClients}.
+ *
+ * @author Jakub Narloch
+ */
+public final class ChainHopApplication {
+
+    /**
+     * Creates new instance of {@link ChainHopApplication} class.
+     */
+    private ChainHopApplication() {
+        // private constructor
+    }
+
+    /**
+     * The service with the request correlation enabled.
+     */
+    @Configuration
+    @EnableAutoConfiguration
+    @EnableRequestCorrelation
+    @EnableFeignClients
+    @Import(Hop.class)
+    public static class Correlated {
+    }
+
+    /**
+     * The service without the request correlation.
+     */
+    @Configuration
+    @EnableAutoConfiguration
+    @EnableFeignClients
+    @Import(Hop.class)
+    public static class Plain {
+    }
+
+    /**
+     * The Feign client of the next service, never called by the last service in the chain.
+     */
+    @FeignClient(url = "${chain.next:http://127.0.0.1}")
+    interface HopClient {
+
+        @RequestMapping(value = "/hop", method = RequestMethod.GET)
+        String hop();
+    }
+
+    /**
+     * The hop endpoint.
+     */
+    @RestController
+    public static class Hop {
+
+        @Value("${chain.next:}")
+        private String next;
+
+        @Value("${chain.client:rest}")
+        private String client;
+
+        @Autowired
+        private HopClient feignClient;
+
+        private final RestTemplate restTemplate = new RestTemplate();
+
+        @Bean
+        public RestTemplate restTemplate() {
+            return restTemplate;
+        }
+
+        @RequestMapping(value = "/hop", method = RequestMethod.GET)
+        public String hop(@RequestHeader(value = RequestCorrelationConsts.HEADER_NAME, required = false) String requestId) {
+
+            if (next.isEmpty()) {
+                return String.valueOf(requestId);
+            }
+
+            final String response = "feign".equals(client) ? feignClient.hop()
+                    : restTemplate.getForObject(next + "/hop", String.class);
+            return requestId + ServiceChain.SEPARATOR + response;
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.chain;
+
+import io.jmnarloch.spring.request.correlation.CorrelationTestUtils;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.embedded.EmbeddedWebApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Starts the chain of the local services, in which every service calls the next one, alternating between the
+ * {@link RestTemplate} and Feign. The response lists the correlation id received by every service in the chain.
+ *
+ * @author Jakub Narloch
+ */
+public class ServiceChain implements Closeable {
+
+    /**
+     * The separator of the correlation ids in the response.
+     */
+    static final String SEPARATOR = ",";
+
+    /**
+     * The number of services.
+     */
+    private final int hops;
+
+    /**
+     * Whether the services have the request correlation enabled.
+     */
+    private final boolean correlated;
+
+    /**
+     * The started services, the first of them at the end.
+     */
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    /**
+     * The client used to call the first service.
+     */
+    private final RestTemplate restTemplate = new RestTemplate();
+
+    /**
+     * The url of the first service.
+     */
+    private String url;
+
+    /**
+     * Creates new instance of {@link ServiceChain} class.
+     *
+     * @param hops       the number of services
+     * @param correlated whether the services have the request correlation enabled
+     */
+    public ServiceChain(int hops, boolean correlated) {
+        if (hops < 1) {
+            throw new IllegalArgumentException("Parameter 'hops' must be positive.");
+        }
+
+        this.hops = hops;
+        this.correlated = correlated;
+    }
+
+    /**
+     * Starts the services, from the last one in the chain.
+     */
+    public void start() {
+
+        String next = null;
+        for (int hop = hops - 1; hop >= 0; hop--) {
+            final SpringApplication application = new SpringApplication(
+                    correlated ? ChainHopApplication.Correlated.class : ChainHopApplication.Plain.class);
+            application.setShowBanner(false);
+            final List<String> args = new ArrayList<>();
+            args.add("--server.port=0");
+            args.add("--spring.jmx.enabled=false");
+            args.add("--chain.client=" + (hop % 2 == 0 ? "rest" : "feign"));
+            if (next != null) {
+                args.add("--chain.next=" + next);
+            }
+            final ConfigurableApplicationContext context = application.run(args.toArray(new String[args.size()]));
+            contexts.add(context);
+
+            final int port = ((EmbeddedWebApplicationContext) context).getEmbeddedServletContainer().getPort();
+            next = "http://127.0.0.1:" + port;
+        }
+        url = next + "/hop";
+    }
+
+    /**
+     * Calls the first service.
+     *
+     * @param requestId the correlation id or {@code null} to let the first service generate it
+     * @return the correlation ids received by every service, in order
+     */
+    public List<String> call(String requestId) {
+
+        final String response = restTemplate.exchange(url, HttpMethod.GET,
+                new HttpEntity<Void>(CorrelationTestUtils.requestIdHeaders(requestId)), String.class).getBody();
+        return Arrays.asList(response.split(SEPARATOR));
+    }
+
+    /**
+     * Retrieves the number of services.
+     *
+     * @return the number of services
+     */
+    public int getHops() {
+        return hops;
+    }
+
+    /**
+     * Stops the services.
+     */
+    @Override
+    public void close() {
+
+        for (ConfigurableApplicationContext context : contexts) {
+            context.close();
+        }
+        contexts.clear();
+    }
+}
@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2015 the original author or authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.jmnarloch.spring.request.correlation.chain;
+
+import io.jmnarloch.spring.request.correlation.CorrelationTestUtils;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+/**
+ * Verifies that the correlation id is propagated unchanged through the chain of services.
+ *
+ * @author Jakub Narloch
+ */
+public class ServiceChainTest {
+
+    private static final int HOPS = 5;
+
+    private static ServiceChain chain;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+
+        chain = new ServiceChain(HOPS, true);
+        chain.start();
+    }
+
+    @AfterClass
+    public static void tearDownClass() throws Exception {
+
+        chain.close();
+    }
+
+    @Test
+    public void shouldPropagateInboundId() {
+
+        // given
+        final String requestId = UUID.randomUUID().toString();
+
+        // when
+        final List<String> result = chain.call(requestId);
+
+        // then
+        assertEquals(HOPS, result.size());
+        CorrelationTestUtils.assertRequestIds(requestId, result);
+    }
+
+    @Test
+    public void shouldPropagateGeneratedId() {
+
+        // when
+        final List<String> result = chain.call(null);
+
+        // then
+        assertEquals(HOPS, result.size());
+        assertNotEquals("null", result.get(0));
+        CorrelationTestUtils.assertRequestIds(result.get(0), result);
+    }
+}